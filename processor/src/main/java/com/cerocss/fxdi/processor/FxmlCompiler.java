@@ -0,0 +1,1031 @@
+package com.cerocss.fxdi.processor;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Build time compiler translating fxml files into {@code CompiledView} implementations, which construct the scene graph
+ * directly instead of parsing the file at runtime. The compiler inspects the node and controller classes reflectively,
+ * so it has to run with the runtime classpath of the application, e.g. as a Gradle {@code JavaExec} task:
+ * <pre>
+ * java com.cerocss.fxdi.processor.FxmlCompiler &lt;resource directory&gt; &lt;output directory&gt;
+ * </pre>
+ * The generated sources are written to the {@code java} folder of the output directory, the service registration to
+ * its {@code resources} folder. Both have to be compiled and packaged together with the application.
+ * <p>
+ * Instances with public default or {@code NamedArg} constructors, properties, static properties, {@code fx:id}
+ * injection, {@code %key} translations, {@code #method} event handlers and the {@code initialize} method of the
+ * controller are supported. Files using other features, e.g. {@code fx:include}, {@code fx:define}, expressions or
+ * scripts, are skipped and loaded by the {@code FXMLLoader} at runtime.
+ */
+public class FxmlCompiler {
+
+    /**
+     * Name of the interface implemented by compiled views.
+     */
+    static final String COMPILED_VIEW = "com.cerocss.fxdi.CompiledView";
+
+    /**
+     * Suffix appended to the name of the fxml file to name its compiled view.
+     */
+    static final String VIEW_SUFFIX = "_FXDIView";
+
+    /**
+     * Name of the class providing reflective access to inaccessible controller members.
+     */
+    private static final String SUPPORT = "com.cerocss.fxdi.CompiledViewSupport";
+
+    /**
+     * Namespace of fxml specific elements and attributes.
+     */
+    private static final String FX_NAMESPACE = "http://javafx.com/fxml";
+
+    /**
+     * Namespace of namespace declarations.
+     */
+    private static final String XMLNS_NAMESPACE = "http://www.w3.org/2000/xmlns/";
+
+    /**
+     * The class loader to resolve node and controller classes with.
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * Constructs a new {@link FxmlCompiler}.
+     *
+     * @param classLoader the class loader to resolve node and controller classes with
+     */
+    public FxmlCompiler(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Compile all fxml files of a resource directory.
+     *
+     * @param args the resource directory and the output directory
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: FxmlCompiler <resource directory> <output directory>");
+        }
+        var compiler = new FxmlCompiler(Thread.currentThread().getContextClassLoader());
+        var resources = Path.of(args[0]);
+        var output = Path.of(args[1]);
+
+        List<Path> files;
+        try (var paths = Files.walk(resources)) {
+            files = paths.filter(path -> path.toString().endsWith(".fxml")).sorted().toList();
+        }
+
+        var views = new TreeSet<String>();
+        for (var file : files) {
+            var resource = resources.relativize(file).toString().replace(File.separatorChar, '/');
+            try (var input = Files.newInputStream(file)) {
+                var source = compiler.compile(resource, input);
+                var className = className(resource);
+                var target = output.resolve("java").resolve(className.replace('.', '/') + ".java");
+                Files.createDirectories(target.getParent());
+                Files.writeString(target, source);
+                views.add(className);
+            } catch (RuntimeException e) {
+                System.err.println(resource + " is not compiled and will be loaded by the FXMLLoader: " + e.getMessage());
+            }
+        }
+
+        var services = output.resolve("resources/META-INF/services/" + COMPILED_VIEW);
+        Files.createDirectories(services.getParent());
+        Files.write(services, views);
+    }
+
+    /**
+     * Determine the name of the compiled view of a fxml file, which is located in the package of the file.
+     *
+     * @param resource the classpath resource name of the fxml file
+     * @return the qualified class name of the compiled view
+     */
+    static String className(String resource) {
+        var separator = resource.lastIndexOf('/');
+        var packageName = separator < 0 ? "" : resource.substring(0, separator).replace('/', '.');
+        for (var segment : packageName.split("\\.")) {
+            if (!packageName.isEmpty() && !isIdentifier(segment)) {
+                throw new RuntimeException(resource + " is not located in a valid package.");
+            }
+        }
+
+        var fileName = resource.substring(separator + 1, resource.length() - ".fxml".length());
+        var simpleName = new StringBuilder();
+        for (var character : fileName.toCharArray()) {
+            simpleName.append(Character.isJavaIdentifierPart(character) ? character : '_');
+        }
+        if (simpleName.isEmpty() || !Character.isJavaIdentifierStart(simpleName.charAt(0))) {
+            simpleName.insert(0, '_');
+        }
+        return (packageName.isEmpty() ? "" : packageName + ".") + simpleName + VIEW_SUFFIX;
+    }
+
+    /**
+     * Compile a single fxml file.
+     *
+     * @param resource the classpath resource name of the fxml file
+     * @param input    the contents of the fxml file
+     * @return the source of the compiled view
+     * @throws RuntimeException if the file uses a feature that cannot be compiled
+     */
+    public String compile(String resource, InputStream input) {
+        org.w3c.dom.Document document;
+        try {
+            var factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            document = factory.newDocumentBuilder().parse(input);
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw new RuntimeException(resource + " cannot be parsed.", e);
+        }
+        return new Compilation(resource).compile(document);
+    }
+
+    /**
+     * Helper method to check whether a string is a valid Java identifier.
+     *
+     * @param name the string to check
+     * @return true if the string is an identifier
+     */
+    private static boolean isIdentifier(String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        return name.chars().allMatch(Character::isJavaIdentifierPart);
+    }
+
+    /**
+     * Helper method to create the exception of an unsupported feature.
+     *
+     * @param feature the unsupported feature
+     * @return the exception to throw
+     */
+    private static RuntimeException unsupported(String feature) {
+        return new RuntimeException(feature + " is not supported by the compiler.");
+    }
+
+    /**
+     * Helper method to find a public method by its parameter types without relying on an exception if it does not
+     * exist.
+     *
+     * @param type           the class declaring or inheriting the method
+     * @param name           the name of the method
+     * @param parameterTypes the parameter types of the method
+     * @return the public method or null if the class has no such method
+     */
+    private static Method publicMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        for (var method : type.getMethods()) {
+            if (method.getName().equals(name) && Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Helper method to quote a Java string literal.
+     *
+     * @param value the value to quote
+     * @return the escaped string literal
+     */
+    private static String quote(String value) {
+        var literal = new StringBuilder("\"");
+        for (var character : value.toCharArray()) {
+            switch (character) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> literal.append(character);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * Helper method to capitalize a property name.
+     *
+     * @param name the property name
+     * @return the name with an upper case first letter
+     */
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * A generated local variable holding an instance of the scene graph.
+     */
+    private static final class Value {
+
+        /**
+         * The name of the variable.
+         */
+        private final String variable;
+
+        /**
+         * The class of the instance.
+         */
+        private final Class<?> type;
+
+        private Value(String variable, Class<?> type) {
+            this.variable = variable;
+            this.type = type;
+        }
+    }
+
+    /**
+     * State of the compilation of a single fxml file.
+     */
+    private final class Compilation {
+
+        /**
+         * The classpath resource name of the fxml file.
+         */
+        private final String resource;
+
+        /**
+         * The package of the generated class.
+         */
+        private final String packageName;
+
+        /**
+         * Imported classes and packages, with packages ending in a dot.
+         */
+        private final List<String> imports = new ArrayList<>(List.of("java.lang."));
+
+        /**
+         * The statements constructing the scene graph.
+         */
+        private final StringBuilder body = new StringBuilder();
+
+        /**
+         * The declared controller or null if the file does not declare one.
+         */
+        private Class<?> controller;
+
+        /**
+         * Counter to name the generated variables.
+         */
+        private int variables;
+
+        private Compilation(String resource) {
+            this.resource = resource;
+            var className = className(resource);
+            var separator = className.lastIndexOf('.');
+            this.packageName = separator < 0 ? "" : className.substring(0, separator);
+        }
+
+        /**
+         * Generate the compiled view of a parsed fxml file.
+         *
+         * @param document the parsed fxml file
+         * @return the source of the compiled view
+         */
+        private String compile(org.w3c.dom.Document document) {
+            for (var node = document.getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (node instanceof ProcessingInstruction instruction) {
+                    if (!"import".equals(instruction.getTarget())) {
+                        throw unsupported("<?" + instruction.getTarget() + "?>");
+                    }
+                    var name = instruction.getData().trim();
+                    imports.add(name.endsWith(".*") ? name.substring(0, name.length() - 1) : name);
+                }
+            }
+
+            var root = document.getDocumentElement();
+            var controllerName = root.getAttributeNS(FX_NAMESPACE, "controller");
+            if (!controllerName.isEmpty()) {
+                controller = loadClass(controllerName);
+                if (controller == null || !isAccessible(controller)) {
+                    throw new RuntimeException("The controller " + controllerName + " is not accessible from package " + packageName + ".");
+                }
+                body.append("        var controller = (").append(controller.getCanonicalName()).append(") controllerInstance;\n");
+                injectField(new Value("location", java.net.URL.class), "location");
+                injectField(new Value("resources", java.util.ResourceBundle.class), "resources");
+            }
+
+            var rootValue = instance(root, true);
+            if (controller != null) {
+                initializeController();
+            }
+
+            var className = className(resource);
+            var simpleName = className.substring(className.lastIndexOf('.') + 1);
+            var source = new StringBuilder();
+            if (!packageName.isEmpty()) {
+                source.append("package ").append(packageName).append(";\n\n");
+            }
+            source.append("/**\n * Compiled from ").append(resource).append(" by the fxdi FxmlCompiler. Do not edit.\n */\n");
+            source.append("public final class ").append(simpleName).append(" implements ").append(COMPILED_VIEW).append(" {\n\n");
+            source.append("    @Override\n    public String resource() {\n        return ").append(quote(resource)).append(";\n    }\n\n");
+            source.append("    @Override\n    public Object createController(java.util.function.Function<Class<?>, Object> controllerFactory) {\n");
+            if (controller == null) {
+                source.append("        return null;\n");
+            } else {
+                source.append("        return controllerFactory.apply(").append(controller.getCanonicalName()).append(".class);\n");
+            }
+            source.append("    }\n\n");
+            source.append("    @Override\n    public Object createRoot(Object controllerInstance, java.net.URL location, java.util.ResourceBundle resources) {\n");
+            source.append(body);
+            source.append("        return ").append(rootValue.variable).append(";\n    }\n}\n");
+            return source.toString();
+        }
+
+        /**
+         * Generate the construction of an instance element including its attributes and children.
+         *
+         * @param element the instance element
+         * @param root    whether the element is the root of the file
+         * @return the variable holding the instance
+         */
+        private Value instance(Element element, boolean root) {
+            if (FX_NAMESPACE.equals(element.getNamespaceURI())) {
+                throw unsupported("fx:" + element.getLocalName());
+            }
+            var type = resolveClass(element.getLocalName());
+
+            String fxId = null;
+            var properties = new LinkedHashMap<String, String>();
+            var staticProperties = new LinkedHashMap<String, String>();
+            var handlers = new LinkedHashMap<String, String>();
+            var attributes = element.getAttributes();
+            for (int i = 0; i < attributes.getLength(); i++) {
+                var attribute = attributes.item(i);
+                var name = attribute.getLocalName() == null ? attribute.getNodeName() : attribute.getLocalName();
+                if (XMLNS_NAMESPACE.equals(attribute.getNamespaceURI()) || "xmlns".equals(attribute.getNodeName())) {
+                    continue;
+                }
+                if (FX_NAMESPACE.equals(attribute.getNamespaceURI())) {
+                    if ("id".equals(name)) {
+                        fxId = attribute.getNodeValue();
+                    } else if (!root || !"controller".equals(name)) {
+                        throw unsupported("fx:" + name);
+                    }
+                } else if (name.contains(".")) {
+                    staticProperties.put(name, attribute.getNodeValue());
+                } else if (attribute.getNodeValue().startsWith("#")) {
+                    handlers.put(name, attribute.getNodeValue().substring(1));
+                } else {
+                    properties.put(name, attribute.getNodeValue());
+                }
+            }
+
+            var value = construct(type, properties);
+            if (fxId != null && !properties.containsKey("id") && findSetter(type, "id", String.class) != null) {
+                statement(value.variable + ".setId(" + quote(fxId) + ")");
+            }
+            properties.forEach((name, text) -> setProperty(value, name, text));
+            staticProperties.forEach((name, text) -> setStaticProperty(value, name, text));
+            handlers.forEach((name, method) -> setHandler(value, name, method));
+
+            for (var node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (node instanceof Element child) {
+                    child(value, child);
+                } else if (node.getNodeType() == Node.TEXT_NODE && !node.getNodeValue().isBlank()) {
+                    throw unsupported("Text content of " + type.getSimpleName());
+                } else if (node.getNodeType() == Node.CDATA_SECTION_NODE) {
+                    throw unsupported("Character data of " + type.getSimpleName());
+                }
+            }
+
+            if (fxId != null && controller != null) {
+                injectField(value, fxId);
+            }
+            return value;
+        }
+
+        /**
+         * Generate the handling of a child element, which is either a property element or an instance of the default
+         * property.
+         *
+         * @param parent the instance containing the element
+         * @param child  the child element
+         */
+        private void child(Value parent, Element child) {
+            if (FX_NAMESPACE.equals(child.getNamespaceURI())) {
+                throw unsupported("fx:" + child.getLocalName());
+            }
+            var name = child.getLocalName();
+            var separator = name.lastIndexOf('.');
+            if (separator > 0 && Character.isUpperCase(name.charAt(0))) {
+                var values = childInstances(child);
+                if (values.size() != 1) {
+                    throw unsupported("Static property element " + name + " without a single instance");
+                }
+                setStaticProperty(parent, name, values.get(0));
+                return;
+            }
+            if (Character.isLowerCase(name.charAt(0)) && separator < 0) {
+                if (child.hasAttributes()) {
+                    throw unsupported("Attributes of property element " + name);
+                }
+                var values = childInstances(child);
+                if (values.isEmpty()) {
+                    setProperty(parent, name, child.getTextContent().trim());
+                } else {
+                    values.forEach(value -> addToProperty(parent, name, value));
+                }
+                return;
+            }
+            addToProperty(parent, defaultProperty(parent.type), instance(child, false));
+        }
+
+        /**
+         * Helper method to generate the instances contained in a property element.
+         *
+         * @param element the property element
+         * @return the variables holding the instances
+         */
+        private List<Value> childInstances(Element element) {
+            var values = new ArrayList<Value>();
+            for (var node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (node instanceof Element child) {
+                    values.add(instance(child, false));
+                }
+            }
+            return values;
+        }
+
+        /**
+         * Generate the construction of an instance, using the default constructor or a constructor whose parameters
+         * are all annotated with {@code NamedArg}. Properties passed to the constructor are removed.
+         *
+         * @param type       the class to instantiate
+         * @param properties the attributes of the element
+         * @return the variable holding the instance
+         */
+        private Value construct(Class<?> type, Map<String, String> properties) {
+            if (!isAccessible(type) || Modifier.isAbstract(type.getModifiers())) {
+                throw new RuntimeException(type.getName() + " cannot be instantiated.");
+            }
+            var value = new Value("node" + variables++, type);
+            if (Arrays.stream(type.getConstructors()).anyMatch(constructor -> constructor.getParameterCount() == 0)) {
+                statement("var " + value.variable + " = new " + type.getCanonicalName() + "()");
+                return value;
+            }
+
+            Constructor<?> selected = null;
+            List<String> selectedNames = null;
+            for (var constructor : type.getConstructors()) {
+                var names = namedArguments(constructor);
+                if (names != null && names.containsAll(properties.keySet())
+                        && (selected == null || names.size() < selectedNames.size())) {
+                    selected = constructor;
+                    selectedNames = names;
+                }
+            }
+            if (selected == null) {
+                throw new RuntimeException(type.getName() + " has no default constructor or NamedArg constructor matching " + properties.keySet() + ".");
+            }
+
+            var arguments = new ArrayList<String>();
+            var parameterTypes = selected.getParameterTypes();
+            var annotations = selected.getParameterAnnotations();
+            for (int i = 0; i < parameterTypes.length; i++) {
+                var name = selectedNames.get(i);
+                var text = properties.containsKey(name) ? properties.remove(name) : annotationValue(annotations[i], "defaultValue");
+                var argument = text == null || text.isEmpty() ? defaultValue(parameterTypes[i]) : literal(parameterTypes[i], text);
+                if (argument == null) {
+                    throw new RuntimeException(text + " cannot be converted to " + parameterTypes[i].getName() + " for " + type.getName() + "." + name + ".");
+                }
+                arguments.add(argument);
+            }
+            statement("var " + value.variable + " = new " + type.getCanonicalName() + "(" + String.join(", ", arguments) + ")");
+            return value;
+        }
+
+        /**
+         * Helper method to get the {@code NamedArg} names of the parameters of a constructor.
+         *
+         * @param constructor the constructor
+         * @return the names in parameter order, or null if a parameter is not annotated
+         */
+        private List<String> namedArguments(Constructor<?> constructor) {
+            var names = new ArrayList<String>();
+            for (var annotations : constructor.getParameterAnnotations()) {
+                var name = annotationValue(annotations, "value");
+                if (name == null) {
+                    return null;
+                }
+                names.add(name);
+            }
+            return names;
+        }
+
+        /**
+         * Helper method to read an attribute of the {@code NamedArg} annotation of a parameter.
+         *
+         * @param annotations the annotations of the parameter
+         * @param attribute   the name of the attribute
+         * @return the value of the attribute or null if the parameter is not annotated
+         */
+        private String annotationValue(java.lang.annotation.Annotation[] annotations, String attribute) {
+            for (var annotation : annotations) {
+                if ("javafx.beans.NamedArg".equals(annotation.annotationType().getName())) {
+                    try {
+                        return (String) annotation.annotationType().getMethod(attribute).invoke(annotation);
+                    } catch (ReflectiveOperationException e) {
+                        throw new RuntimeException("NamedArg." + attribute + " cannot be read.", e);
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Generate the assignment of a property from an attribute value.
+         *
+         * @param value the instance declaring the property
+         * @param name  the name of the property
+         * @param text  the attribute value
+         */
+        private void setProperty(Value value, String name, String text) {
+            for (var method : value.type.getMethods()) {
+                if (method.getName().equals("set" + capitalize(name)) && method.getParameterCount() == 1 && !Modifier.isStatic(method.getModifiers())) {
+                    var literal = literal(method.getParameterTypes()[0], text);
+                    if (literal != null) {
+                        statement(value.variable + "." + method.getName() + "(" + literal + ")");
+                        return;
+                    }
+                }
+            }
+            throw new RuntimeException(value.type.getName() + "." + name + " cannot be set to " + text + ".");
+        }
+
+        /**
+         * Generate the assignment of a static property, e.g. {@code GridPane.columnIndex}, from an attribute value.
+         *
+         * @param value the instance the property is attached to
+         * @param name  the qualified name of the property
+         * @param text  the attribute value
+         */
+        private void setStaticProperty(Value value, String name, String text) {
+            var method = findStaticSetter(value, name);
+            var literal = literal(method.getParameterTypes()[1], text);
+            if (literal == null) {
+                throw new RuntimeException(name + " cannot be set to " + text + ".");
+            }
+            statement(method.getDeclaringClass().getCanonicalName() + "." + method.getName() + "(" + value.variable + ", " + literal + ")");
+        }
+
+        /**
+         * Generate the assignment of a static property from an instance element.
+         *
+         * @param value    the instance the property is attached to
+         * @param name     the qualified name of the property
+         * @param argument the instance to assign
+         */
+        private void setStaticProperty(Value value, String name, Value argument) {
+            var method = findStaticSetter(value, name);
+            if (!method.getParameterTypes()[1].isAssignableFrom(argument.type)) {
+                throw new RuntimeException(name + " cannot be set to " + argument.type.getName() + ".");
+            }
+            statement(method.getDeclaringClass().getCanonicalName() + "." + method.getName() + "(" + value.variable + ", " + argument.variable + ")");
+        }
+
+        /**
+         * Helper method to find the static setter of a static property.
+         *
+         * @param value the instance the property is attached to
+         * @param name  the qualified name of the property
+         * @return the static setter
+         */
+        private Method findStaticSetter(Value value, String name) {
+            var separator = name.lastIndexOf('.');
+            var owner = resolveClass(name.substring(0, separator));
+            var setterName = "set" + capitalize(name.substring(separator + 1));
+            for (var method : owner.getMethods()) {
+                if (method.getName().equals(setterName) && Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 2
+                        && method.getParameterTypes()[0].isAssignableFrom(value.type)) {
+                    return method;
+                }
+            }
+            throw new RuntimeException(name + " is not a static property of " + owner.getName() + ".");
+        }
+
+        /**
+         * Generate the addition of an instance to a list property or the assignment of a property.
+         *
+         * @param parent the instance declaring the property
+         * @param name   the name of the property
+         * @param child  the instance to add or assign
+         */
+        private void addToProperty(Value parent, String name, Value child) {
+            var getter = publicMethod(parent.type, "get" + capitalize(name));
+            if (getter != null && Collection.class.isAssignableFrom(getter.getReturnType())) {
+                if (getter.getGenericReturnType() instanceof ParameterizedType listType
+                        && listType.getActualTypeArguments()[0] instanceof Class<?> elementType
+                        && !elementType.isAssignableFrom(child.type)) {
+                    throw new RuntimeException(child.type.getName() + " cannot be added to " + parent.type.getName() + "." + name + ".");
+                }
+                statement(parent.variable + "." + getter.getName() + "().add(" + child.variable + ")");
+                return;
+            }
+
+            var setter = findSetter(parent.type, name, child.type);
+            if (setter == null) {
+                throw new RuntimeException(parent.type.getName() + "." + name + " cannot be set to " + child.type.getName() + ".");
+            }
+            statement(parent.variable + "." + setter.getName() + "(" + child.variable + ")");
+        }
+
+        /**
+         * Helper method to find the default property of a class, which is declared by the {@code DefaultProperty}
+         * annotation of the class or one of its superclasses.
+         *
+         * @param type the class
+         * @return the name of the default property
+         */
+        private String defaultProperty(Class<?> type) {
+            for (var clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+                for (var annotation : clazz.getDeclaredAnnotations()) {
+                    if ("javafx.beans.DefaultProperty".equals(annotation.annotationType().getName())) {
+                        try {
+                            return (String) annotation.annotationType().getMethod("value").invoke(annotation);
+                        } catch (ReflectiveOperationException e) {
+                            throw new RuntimeException("DefaultProperty of " + clazz.getName() + " cannot be read.", e);
+                        }
+                    }
+                }
+            }
+            throw new RuntimeException(type.getName() + " has no default property.");
+        }
+
+        /**
+         * Generate the registration of an event handler calling a controller method.
+         *
+         * @param value  the instance declaring the event handler property
+         * @param name   the name of the event handler property, e.g. {@code onAction}
+         * @param method the name of the controller method
+         */
+        private void setHandler(Value value, String name, String method) {
+            if (controller == null) {
+                throw new RuntimeException("The event handler " + name + " requires a controller.");
+            }
+            Method setter = null;
+            for (var candidate : value.type.getMethods()) {
+                if (candidate.getName().equals("set" + capitalize(name)) && candidate.getParameterCount() == 1
+                        && "javafx.event.EventHandler".equals(candidate.getParameterTypes()[0].getName())) {
+                    setter = candidate;
+                }
+            }
+            if (setter == null) {
+                throw new RuntimeException(value.type.getName() + "." + name + " is not an event handler property.");
+            }
+
+            var eventType = eventType(setter.getGenericParameterTypes()[0]);
+            var target = findControllerMethod(method, eventType);
+            if (target == null) {
+                throw new RuntimeException(controller.getName() + "." + method + " cannot handle " + eventType.getName() + ".");
+            }
+
+            String handler;
+            if (isAccessible(target)) {
+                var argument = target.getParameterCount() == 0 ? "" : "event";
+                handler = "event -> controller." + method + "(" + argument + ")";
+            } else {
+                handler = SUPPORT + ".handler(controller, " + quote(method) + ")";
+            }
+            statement(value.variable + "." + setter.getName() + "(" + handler + ")");
+        }
+
+        /**
+         * Helper method to determine the event type of an event handler parameter.
+         *
+         * @param handlerType the generic type of the event handler parameter
+         * @return the handled event class
+         */
+        private Class<?> eventType(Type handlerType) {
+            if (handlerType instanceof ParameterizedType parameterizedType) {
+                var argument = parameterizedType.getActualTypeArguments()[0];
+                if (argument instanceof WildcardType wildcardType && wildcardType.getLowerBounds().length == 1) {
+                    argument = wildcardType.getLowerBounds()[0];
+                }
+                if (argument instanceof Class<?> eventClass) {
+                    return eventClass;
+                }
+            }
+            return loadClass("javafx.event.Event");
+        }
+
+        /**
+         * Helper method to find a controller method, which is public or annotated with {@code FXML}, taking the event
+         * or no arguments. Methods taking the event are preferred.
+         *
+         * @param name      the name of the method
+         * @param eventType the class of the handled event
+         * @return the method or null if there is none
+         */
+        private Method findControllerMethod(String name, Class<?> eventType) {
+            Method found = null;
+            for (var clazz = controller; clazz != null; clazz = clazz.getSuperclass()) {
+                for (var method : clazz.getDeclaredMethods()) {
+                    if (method.getName().equals(name) && isInjectable(method)
+                            && (method.getParameterCount() == 0 || method.getParameterCount() == 1 && method.getParameterTypes()[0].isAssignableFrom(eventType))
+                            && (found == null || found.getParameterCount() < method.getParameterCount())) {
+                        found = method;
+                    }
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Generate the injection of an element into the controller field matching its {@code fx:id}, or of the
+         * location and resources of the file into the fields named {@code location} and {@code resources}. Fields that
+         * are neither public nor annotated with {@code FXML} are not injected, like the {@code FXMLLoader} does.
+         *
+         * @param value the instance to inject
+         * @param name  the name of the field
+         */
+        private void injectField(Value value, String name) {
+            for (var clazz = controller; clazz != null; clazz = clazz.getSuperclass()) {
+                for (var field : clazz.getDeclaredFields()) {
+                    if (!field.getName().equals(name) || Modifier.isStatic(field.getModifiers()) || !isInjectable(field)) {
+                        continue;
+                    }
+                    if (!field.getType().isAssignableFrom(value.type)) {
+                        throw new RuntimeException(value.type.getName() + " cannot be injected into " + controller.getName() + "." + name + ".");
+                    }
+                    if (isAccessible(field) && !Modifier.isFinal(field.getModifiers())) {
+                        statement("controller." + name + " = " + value.variable);
+                    } else {
+                        statement(SUPPORT + ".inject(controller, " + quote(name) + ", " + value.variable + ")");
+                    }
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Generate the call of the {@code initialize} method of the controller, either of the {@code Initializable}
+         * interface or a method without parameters.
+         */
+        private void initializeController() {
+            var initializable = loadClass("javafx.fxml.Initializable");
+            if (initializable != null && initializable.isAssignableFrom(controller)) {
+                statement("controller.initialize(location, resources)");
+                return;
+            }
+            for (var clazz = controller; clazz != null; clazz = clazz.getSuperclass()) {
+                for (var method : clazz.getDeclaredMethods()) {
+                    if (method.getName().equals("initialize") && method.getParameterCount() == 0 && isInjectable(method)) {
+                        statement(isAccessible(method) ? "controller.initialize()" : SUPPORT + ".invoke(controller, \"initialize\")");
+                        return;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Helper method to convert an attribute value into a Java expression of the given type.
+         *
+         * @param type the target type
+         * @param text the attribute value
+         * @return the expression or null if the value cannot be converted
+         */
+        private String literal(Class<?> type, String text) {
+            if (text.startsWith("%")) {
+                return type.isAssignableFrom(String.class) ? "resources.getString(" + quote(text.substring(1)) + ")" : null;
+            }
+            if (text.startsWith("@") || text.startsWith("$")) {
+                throw unsupported("The value " + text);
+            }
+            if (text.startsWith("\\")) {
+                text = text.substring(1);
+            }
+
+            if (type.isAssignableFrom(String.class)) {
+                return quote(text);
+            }
+            try {
+                if (type == boolean.class || type == Boolean.class) {
+                    return "true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text) ? text.toLowerCase(Locale.ROOT) : null;
+                }
+                if (type == int.class || type == Integer.class) {
+                    return String.valueOf(Integer.parseInt(text));
+                }
+                if (type == long.class || type == Long.class) {
+                    return Long.parseLong(text) + "L";
+                }
+                if (type == short.class || type == Short.class) {
+                    return "(short) " + Short.parseShort(text);
+                }
+                if (type == byte.class || type == Byte.class) {
+                    return "(byte) " + Byte.parseByte(text);
+                }
+                if (type == double.class || type == Double.class) {
+                    return doubleLiteral(Double.parseDouble(text), "Double", "d");
+                }
+                if (type == float.class || type == Float.class) {
+                    return doubleLiteral(Float.parseFloat(text), "Float", "f");
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (type == char.class || type == Character.class) {
+                return text.length() == 1 ? "'" + (text.equals("'") || text.equals("\\") ? "\\" + text : text) + "'" : null;
+            }
+            if (type.isEnum()) {
+                return enumLiteral(type, text);
+            }
+            var valueOf = publicMethod(type, "valueOf", String.class);
+            if (valueOf != null && Modifier.isStatic(valueOf.getModifiers()) && type.isAssignableFrom(valueOf.getReturnType()) && isAccessible(type)) {
+                return type.getCanonicalName() + ".valueOf(" + quote(text) + ")";
+            }
+            return null;
+        }
+
+        /**
+         * Helper method to convert a floating point value into a Java expression.
+         *
+         * @param value   the parsed value
+         * @param boxType the name of the box type declaring the special values
+         * @param suffix  the literal suffix
+         * @return the expression
+         */
+        private String doubleLiteral(double value, String boxType, String suffix) {
+            if (Double.isNaN(value)) {
+                return boxType + ".NaN";
+            }
+            if (Double.isInfinite(value)) {
+                return boxType + (value > 0 ? ".POSITIVE_INFINITY" : ".NEGATIVE_INFINITY");
+            }
+            return (suffix.equals("f") ? Float.toString((float) value) : Double.toString(value)) + suffix;
+        }
+
+        /**
+         * Helper method to convert an attribute value into an enum constant. Camel case values are converted to upper
+         * case constants separated by underscores.
+         *
+         * @param type the enum class
+         * @param text the attribute value
+         * @return the expression or null if there is no matching constant
+         */
+        private String enumLiteral(Class<?> type, String text) {
+            var upperCase = text.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+            for (var constant : type.getEnumConstants()) {
+                var name = ((Enum<?>) constant).name();
+                if (name.equals(text) || name.equals(upperCase)) {
+                    return type.getCanonicalName() + "." + name;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Helper method to get the expression of the default value of a type.
+         *
+         * @param type the type
+         * @return the default value expression
+         */
+        private String defaultValue(Class<?> type) {
+            if (type == boolean.class) {
+                return "false";
+            }
+            if (type == char.class) {
+                return "'\\0'";
+            }
+            if (type.isPrimitive()) {
+                return "(" + type.getName() + ") 0";
+            }
+            return "null";
+        }
+
+        /**
+         * Helper method to find a setter accepting the given argument type.
+         *
+         * @param type         the class declaring the property
+         * @param name         the name of the property
+         * @param argumentType the type of the argument
+         * @return the setter or null if there is none
+         */
+        private Method findSetter(Class<?> type, String name, Class<?> argumentType) {
+            for (var method : type.getMethods()) {
+                if (method.getName().equals("set" + capitalize(name)) && method.getParameterCount() == 1
+                        && !Modifier.isStatic(method.getModifiers()) && method.getParameterTypes()[0].isAssignableFrom(argumentType)) {
+                    return method;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Helper method to resolve a class name of an element using the imports of the file.
+         *
+         * @param name the simple or qualified name
+         * @return the resolved class
+         */
+        private Class<?> resolveClass(String name) {
+            if (Character.isLowerCase(name.charAt(0)) && name.contains(".")) {
+                var type = loadClass(name);
+                if (type != null) {
+                    return type;
+                }
+            }
+            var outer = name.contains(".") ? name.substring(0, name.indexOf('.')) : name;
+            for (var imported : imports) {
+                Class<?> type = null;
+                if (imported.endsWith(".")) {
+                    type = loadClass(imported + name);
+                } else if (imported.endsWith("." + outer)) {
+                    type = loadClass(imported + name.substring(outer.length()));
+                }
+                if (type != null) {
+                    return type;
+                }
+            }
+            throw new RuntimeException(name + " cannot be resolved.");
+        }
+
+        /**
+         * Helper method to load a class by its canonical or binary name.
+         *
+         * @param name the name of the class
+         * @return the class or null if it cannot be found
+         */
+        private Class<?> loadClass(String name) {
+            var binaryName = name;
+            while (true) {
+                try {
+                    return Class.forName(binaryName, false, classLoader);
+                } catch (ClassNotFoundException | NoClassDefFoundError e) {
+                    var separator = binaryName.lastIndexOf('.');
+                    if (separator < 0) {
+                        return null;
+                    }
+                    binaryName = binaryName.substring(0, separator) + "$" + binaryName.substring(separator + 1);
+                }
+            }
+        }
+
+        /**
+         * Helper method to check whether the generated class is able to reference a class.
+         *
+         * @param type the class to check
+         * @return true if the class and its enclosing classes are accessible from the package of the generated class
+         */
+        private boolean isAccessible(Class<?> type) {
+            for (var clazz = type; clazz != null; clazz = clazz.getEnclosingClass()) {
+                var modifiers = clazz.getModifiers();
+                if (Modifier.isPrivate(modifiers) || !Modifier.isPublic(modifiers) && !clazz.getPackageName().equals(packageName)) {
+                    return false;
+                }
+            }
+            return type.getCanonicalName() != null;
+        }
+
+        /**
+         * Helper method to check whether the generated class is able to access a controller member directly.
+         *
+         * @param member the field or method to check
+         * @return true if the member is accessible from the package of the generated class
+         */
+        private boolean isAccessible(Member member) {
+            var modifiers = member.getModifiers();
+            if (Modifier.isPrivate(modifiers) || !isAccessible(member.getDeclaringClass())) {
+                return false;
+            }
+            return Modifier.isPublic(modifiers) || member.getDeclaringClass().getPackageName().equals(packageName);
+        }
+
+        /**
+         * Helper method to check whether the {@code FXMLLoader} would inject into a field or call a method, which
+         * requires it to be public or annotated with {@code FXML}.
+         *
+         * @param member the field or method to check
+         * @return true if the member is public or annotated
+         */
+        private boolean isInjectable(AccessibleObject member) {
+            if (member instanceof Member declared && Modifier.isPublic(declared.getModifiers())) {
+                return true;
+            }
+            return Arrays.stream(member.getDeclaredAnnotations()).anyMatch(annotation -> "javafx.fxml.FXML".equals(annotation.annotationType().getName()));
+        }
+
+        /**
+         * Helper method to append a statement to the generated body.
+         *
+         * @param statement the statement without semicolon
+         */
+        private void statement(String statement) {
+            body.append("        ").append(statement).append(";\n");
+        }
+    }
+}
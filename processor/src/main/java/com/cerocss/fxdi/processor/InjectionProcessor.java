@@ -0,0 +1,491 @@
+package com.cerocss.fxdi.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Annotation processor generating reflection-free {@code InjectableFactory} implementations for classes annotated as
+ * {@code Singleton} or declaring an {@code InjectionConstructor}. The generated factories are registered as services,
+ * so that the {@code DependencyContainer} uses them before falling back to reflection. The processor applies the same
+ * rules as the container at runtime and reports violations as compile errors: the constructor selection, constructor
+ * parameters that are not singletons and circular dependencies. {@code Lazy} parameters are checked to reference a
+ * singleton that is not {@code Prototype}, but are not considered for circular dependencies. All valid classes are listed in the
+ * {@value #INDEX_RESOURCE} index, so that they can be created eagerly without scanning the classpath.
+ * <p>
+ * Dependencies that are registered manually at runtime instead of being annotated as {@code Singleton} can be declared
+ * as comma separated class names with the {@value #MANUAL_DEPENDENCIES_OPTION} option.
+ */
+@SupportedAnnotationTypes({InjectionProcessor.SINGLETON, InjectionProcessor.SCOPED, InjectionProcessor.VIEW_SCOPED,
+        InjectionProcessor.PROTOTYPE, InjectionProcessor.INJECTION_CONSTRUCTOR})
+@SupportedOptions(InjectionProcessor.MANUAL_DEPENDENCIES_OPTION)
+public class InjectionProcessor extends AbstractProcessor {
+
+    /**
+     * Name of the annotation marking singletons.
+     */
+    static final String SINGLETON = "com.cerocss.fxdi.Singleton";
+
+    /**
+     * Name of the annotation marking singletons scoped to a child container.
+     */
+    static final String SCOPED = "com.cerocss.fxdi.Scoped";
+
+    /**
+     * Name of the annotation marking singletons scoped to a single view.
+     */
+    static final String VIEW_SCOPED = "com.cerocss.fxdi.ViewScoped";
+
+    /**
+     * Name of the annotation marking classes that are created for every injection.
+     */
+    static final String PROTOTYPE = "com.cerocss.fxdi.Prototype";
+
+    /**
+     * Name of the annotation marking the constructor to use for injection.
+     */
+    static final String INJECTION_CONSTRUCTOR = "com.cerocss.fxdi.InjectionConstructor";
+
+    /**
+     * Name of the interface for lazy references to singletons.
+     */
+    static final String LAZY = "com.cerocss.fxdi.Lazy";
+
+    /**
+     * Name of the interface implemented by generated factories.
+     */
+    static final String FACTORY_INTERFACE = "com.cerocss.fxdi.InjectableFactory";
+
+    /**
+     * Option to declare classes that are registered manually and may therefore appear as constructor parameters.
+     */
+    static final String MANUAL_DEPENDENCIES_OPTION = "fxdi.manualDependencies";
+
+    /**
+     * Suffix appended to the flattened class name to name its factory.
+     */
+    static final String FACTORY_SUFFIX = "_FXDIFactory";
+
+    /**
+     * Resource listing the binary names of all processed classes, one per line.
+     */
+    static final String INDEX_RESOURCE = "META-INF/fxdi/injectables";
+
+    /**
+     * Classes that are always registered manually by the {@code FXDILoader}.
+     */
+    private static final Set<String> BUILT_IN_DEPENDENCIES = Set.of("com.cerocss.fxdi.DependencyContainer", "com.cerocss.fxdi.FXDILoader");
+
+    /**
+     * Selected injection constructors of all processed classes, associated with the qualified class name.
+     */
+    private final Map<String, ExecutableElement> injectionConstructors = new TreeMap<>();
+
+    /**
+     * Qualified names of all generated factories.
+     */
+    private final Set<String> factories = new TreeSet<>();
+
+    /**
+     * Binary names of all valid processed classes.
+     */
+    private final Set<String> indexedTypes = new TreeSet<>();
+
+    /**
+     * Qualified names of classes that are allowed as constructor parameters without being annotated as singleton.
+     */
+    private final Set<String> manualDependencies = new HashSet<>(BUILT_IN_DEPENDENCIES);
+
+    /**
+     * Constructs a new {@link InjectionProcessor}.
+     */
+    public InjectionProcessor() {
+    }
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        var option = processingEnv.getOptions().getOrDefault(MANUAL_DEPENDENCIES_OPTION, "");
+        Arrays.stream(option.split(",")).map(String::trim).filter(name -> !name.isEmpty()).forEach(manualDependencies::add);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        var types = new LinkedHashSet<TypeElement>();
+        for (var annotation : annotations) {
+            for (var element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement type) {
+                    types.add(type);
+                } else if (element.getEnclosingElement() instanceof TypeElement type) {
+                    types.add(type);
+                }
+            }
+        }
+        types.forEach(this::processType);
+
+        if (roundEnv.processingOver()) {
+            checkCircularDependencies();
+            writeServiceFile();
+            writeIndex();
+        }
+        return false;
+    }
+
+    /**
+     * Validate a single injectable class and generate its factory.
+     *
+     * @param type the class to process
+     */
+    private void processType(TypeElement type) {
+        var name = type.getQualifiedName().toString();
+        if (injectionConstructors.containsKey(name)) {
+            return;
+        }
+
+        if (!isInstantiable(type)) {
+            error(type, name + " cannot be instantiated.");
+            return;
+        }
+
+        var constructor = getInjectionConstructor(type);
+        if (constructor == null) {
+            return;
+        }
+
+        var valid = true;
+        for (var parameter : constructor.getParameters()) {
+            valid &= checkDependency(parameter);
+        }
+        if (valid) {
+            injectionConstructors.put(name, constructor);
+            indexedTypes.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+            writeFactory(type, constructor);
+        }
+    }
+
+    /**
+     * Helper method to check whether a factory in the package of a class is able to instantiate it.
+     *
+     * @param type the class to check
+     * @return true if the class is a concrete, accessible class
+     */
+    private boolean isInstantiable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.RECORD) {
+            return false;
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return type.getNestingKind() == NestingKind.TOP_LEVEL || type.getNestingKind() == NestingKind.MEMBER;
+    }
+
+    /**
+     * Select the constructor used for injection, following the same rules as the {@code DependencyContainer}.
+     *
+     * @param type the class to select the constructor for
+     * @return the selected constructor or null if the selection failed and an error was reported
+     */
+    private ExecutableElement getInjectionConstructor(TypeElement type) {
+        var name = type.getQualifiedName().toString();
+        var constructors = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .filter(constructor -> constructor.getModifiers().contains(Modifier.PUBLIC))
+                .toList();
+        if (constructors.isEmpty()) {
+            error(type, name + " has no public constructors. It cannot be instantiated.");
+            return null;
+        }
+        if (constructors.size() == 1) {
+            return constructors.getFirst();
+        }
+
+        var annotated = constructors.stream().filter(constructor -> hasAnnotation(constructor, INJECTION_CONSTRUCTOR)).toList();
+        return switch (annotated.size()) {
+            case 0 -> {
+                error(type, name + " has multiple public constructors. Annotate a single one with @InjectionController.");
+                yield null;
+            }
+            case 1 -> annotated.getFirst();
+            default -> {
+                error(type, name + " has multiple public constructors annotated as InjectionController. There should be only a single public one.");
+                yield null;
+            }
+        };
+    }
+
+    /**
+     * Check that a constructor parameter is a singleton or a class that is registered manually.
+     *
+     * @param parameter the constructor parameter to check
+     * @return true if the parameter can be injected
+     */
+    private boolean checkDependency(VariableElement parameter) {
+        var dependencyType = parameter.asType();
+        var lazy = isLazy(dependencyType);
+        var owner = ((TypeElement) parameter.getEnclosingElement().getEnclosingElement()).getQualifiedName();
+        if (lazy) {
+            dependencyType = lazyTarget(dependencyType);
+            if (dependencyType == null) {
+                error(parameter, owner + " has a Lazy constructor parameter without a concrete type argument.");
+                return false;
+            }
+        }
+
+        var dependency = processingEnv.getTypeUtils().asElement(erasure(dependencyType));
+        if (lazy && dependency instanceof TypeElement type && hasAnnotation(type, PROTOTYPE)) {
+            error(parameter, owner + " has a Lazy constructor parameter referencing " + type.getQualifiedName() + ", which is Prototype. Lazy references are created once and would be shared by all instances.");
+            return false;
+        }
+        if (dependency instanceof TypeElement type && (hasAnnotation(type, SINGLETON) || hasAnnotation(type, SCOPED)
+                || hasAnnotation(type, VIEW_SCOPED) || hasAnnotation(type, PROTOTYPE) || manualDependencies.contains(type.getQualifiedName().toString()))) {
+            return true;
+        }
+        error(parameter, erasure(dependencyType) + " is not marked as Singleton. Constructors of injected classes that are not manually registered are only allowed to contain singletons. Classes that are registered manually can be declared with -A" + MANUAL_DEPENDENCIES_OPTION + ".");
+        return false;
+    }
+
+    /**
+     * Report circular dependencies between all processed classes.
+     */
+    private void checkCircularDependencies() {
+        var checked = new HashSet<String>();
+        for (var name : injectionConstructors.keySet()) {
+            checkCircularDependencies(name, new LinkedHashSet<>(), checked);
+        }
+    }
+
+    /**
+     * Depth first search for circular dependencies starting at a single class.
+     *
+     * @param name    the qualified name of the class to check
+     * @param path    classes on the current branch of the dependency tree
+     * @param checked classes whose dependencies are known to be free of cycles
+     * @return true if no circular dependency was found
+     */
+    private boolean checkCircularDependencies(String name, LinkedHashSet<String> path, Set<String> checked) {
+        if (checked.contains(name)) {
+            return true;
+        }
+        var constructor = injectionConstructors.get(name);
+        if (constructor == null) {
+            return true;
+        }
+        if (path.contains(name)) {
+            error(constructor.getEnclosingElement(), name + " has circular dependencies. Visited classes: " + path + " already contains: " + name + ".");
+            return false;
+        }
+
+        path.add(name);
+        var acyclic = true;
+        for (var parameter : constructor.getParameters()) {
+            if (isLazy(parameter.asType())) {
+                continue;
+            }
+            acyclic &= checkCircularDependencies(erasure(parameter.asType()).toString(), path, checked);
+            if (!acyclic) {
+                break;
+            }
+        }
+        path.remove(name);
+        checked.add(name);
+        return acyclic;
+    }
+
+    /**
+     * Generate the factory source of a class.
+     *
+     * @param type        the class to generate the factory for
+     * @param constructor the selected injection constructor
+     */
+    private void writeFactory(TypeElement type, ExecutableElement constructor) {
+        var packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        var typeName = erasure(type.asType()).toString();
+        var factoryName = flatName(type) + FACTORY_SUFFIX;
+        var qualifiedFactoryName = packageName.isEmpty() ? factoryName : packageName + "." + factoryName;
+
+        var parameterTypes = constructor.getParameters().stream().map(parameter -> erasure(parameter.asType()).toString()).toList();
+        var dependencies = parameterTypes.stream().map(parameterType -> parameterType + ".class").collect(Collectors.joining(", "));
+        var lazyDependencies = constructor.getParameters().stream()
+                .map(parameter -> isLazy(parameter.asType()) ? erasure(lazyTarget(parameter.asType())) + ".class" : "null")
+                .toList();
+        var hasLazyDependencies = lazyDependencies.stream().anyMatch(lazyDependency -> !"null".equals(lazyDependency));
+        var arguments = new ArrayList<String>();
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            arguments.add("(" + parameterTypes.get(i) + ") arguments[" + i + "]");
+        }
+        var creation = "new " + typeName + "(" + String.join(", ", arguments) + ")";
+
+        try (var writer = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedFactoryName, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                writer.println("package " + packageName + ";");
+                writer.println();
+            }
+            writer.println("@javax.annotation.processing.Generated(\"" + InjectionProcessor.class.getName() + "\")");
+            if (!type.getTypeParameters().isEmpty()) {
+                writer.println("@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+            }
+            writer.println("public final class " + factoryName + " implements " + FACTORY_INTERFACE + "<" + typeName + "> {");
+            writer.println();
+            writer.println("    public " + factoryName + "() {");
+            writer.println("    }");
+            writer.println();
+            writer.println("    @Override");
+            writer.println("    public Class<" + typeName + "> type() {");
+            writer.println("        return " + typeName + ".class;");
+            writer.println("    }");
+            writer.println();
+            writer.println("    @Override");
+            writer.println("    public Class<?>[] dependencies() {");
+            writer.println("        return new Class<?>[]{" + dependencies + "};");
+            writer.println("    }");
+            writer.println();
+            if (hasLazyDependencies) {
+                writer.println("    @Override");
+                writer.println("    public Class<?>[] lazyDependencies() {");
+                writer.println("        return new Class<?>[]{" + String.join(", ", lazyDependencies) + "};");
+                writer.println("    }");
+                writer.println();
+                writer.println("    @SuppressWarnings(\"unchecked\")");
+            }
+            writer.println("    @Override");
+            writer.println("    public " + typeName + " create(Object... arguments) {");
+            if (constructor.getThrownTypes().isEmpty()) {
+                writer.println("        return " + creation + ";");
+            } else {
+                writer.println("        try {");
+                writer.println("            return " + creation + ";");
+                writer.println("        } catch (RuntimeException | Error e) {");
+                writer.println("            throw e;");
+                writer.println("        } catch (Throwable e) {");
+                writer.println("            throw new java.lang.reflect.UndeclaredThrowableException(e);");
+                writer.println("        }");
+            }
+            writer.println("    }");
+            writer.println("}");
+        } catch (IOException e) {
+            error(type, "Factory of " + typeName + " cannot be generated: " + e.getMessage());
+            return;
+        }
+        factories.add(qualifiedFactoryName);
+    }
+
+    /**
+     * Register all generated factories as services of the factory interface.
+     */
+    private void writeServiceFile() {
+        if (factories.isEmpty()) {
+            return;
+        }
+        try (var writer = new PrintWriter(processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + FACTORY_INTERFACE).openWriter())) {
+            factories.forEach(writer::println);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Factory services cannot be registered: " + e.getMessage());
+        }
+    }
+
+    /**
+     * List all processed classes in the index resource.
+     */
+    private void writeIndex() {
+        if (indexedTypes.isEmpty()) {
+            return;
+        }
+        try (var writer = new PrintWriter(processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE).openWriter())) {
+            indexedTypes.forEach(writer::println);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Injectable index cannot be written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Helper method to flatten the name of nested classes, e.g. {@code Outer_Inner} for {@code Outer.Inner}.
+     *
+     * @param type the class to get the name for
+     * @return the simple names of the class and its enclosing classes joined by underscores
+     */
+    private static String flatName(TypeElement type) {
+        var names = new ArrayDeque<String>();
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            names.addFirst(element.getSimpleName().toString());
+        }
+        return String.join("_", names);
+    }
+
+    /**
+     * Helper method to check whether a parameter type is a lazy reference.
+     *
+     * @param type the parameter type
+     * @return true if the type is {@code Lazy}
+     */
+    private boolean isLazy(TypeMirror type) {
+        return processingEnv.getTypeUtils().asElement(erasure(type)) instanceof TypeElement element && element.getQualifiedName().contentEquals(LAZY);
+    }
+
+    /**
+     * Helper method to get the referenced type of a lazy reference.
+     *
+     * @param type the lazy parameter type
+     * @return the type argument or null if the lazy reference has no concrete type argument
+     */
+    private TypeMirror lazyTarget(TypeMirror type) {
+        if (type instanceof DeclaredType declaredType && declaredType.getTypeArguments().size() == 1
+                && declaredType.getTypeArguments().getFirst().getKind() == TypeKind.DECLARED) {
+            return declaredType.getTypeArguments().getFirst();
+        }
+        return null;
+    }
+
+    /**
+     * Helper method to erase type arguments of declared types and type variables.
+     *
+     * @param type the type to erase
+     * @return the erased type
+     */
+    private TypeMirror erasure(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED || type.getKind() == TypeKind.TYPEVAR ? processingEnv.getTypeUtils().erasure(type) : type;
+    }
+
+    /**
+     * Helper method to check for an annotation by name, as the annotation classes are not available to the processor.
+     *
+     * @param element    the annotated element
+     * @param annotation the qualified name of the annotation
+     * @return true if the element is annotated with the annotation
+     */
+    private static boolean hasAnnotation(Element element, String annotation) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation));
+    }
+
+    /**
+     * Report a compile error on an element.
+     *
+     * @param element the element causing the error
+     * @param message the error message
+     */
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
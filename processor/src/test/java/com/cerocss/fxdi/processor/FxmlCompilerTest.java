@@ -0,0 +1,140 @@
+package com.cerocss.fxdi.processor;
+
+import com.cerocss.fxdi.CompiledView;
+import com.cerocss.fxdi.DependencyContainer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+
+/**
+ * Tests the {@link FxmlCompiler} by compiling the generated views and comparing the constructed scene graph.
+ */
+public class FxmlCompilerTest {
+
+    private static final String RESOURCE = "com/cerocss/fxdi/processor/fixture-view.fxml";
+
+    private static final String FIXTURE_VIEW = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <?import com.cerocss.fxdi.processor.FxmlFixtures.*?>
+            <Box xmlns:fx="http://javafx.com/fxml" fx:controller="com.cerocss.fxdi.processor.FxmlFixtures$FixtureController"
+                 fx:id="root" spacing="4">
+                <children>
+                    <Label fx:id="title" text="%title" alignment="CENTER"/>
+                    <Label text="\\%literal" alignment="topLeft"/>
+                </children>
+            </Box>
+            """;
+
+    private Path output;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @BeforeEach
+    void setupTests() throws IOException {
+        output = Files.createTempDirectory("fxdi-compiler");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    @Test
+    void shouldNameViewsAfterTheirFile() {
+        // when / then
+        Assertions.assertEquals("com.example.main_view_FXDIView", FxmlCompiler.className("com/example/main-view.fxml"));
+        Assertions.assertEquals("_1_FXDIView", FxmlCompiler.className("1.fxml"));
+        Assertions.assertThrows(RuntimeException.class, () -> FxmlCompiler.className("com/my-app/main.fxml"));
+    }
+
+    @Test
+    void shouldCompileViewWithController() throws Exception {
+        // given
+        var fxmlCompiler = new FxmlCompiler(getClass().getClassLoader());
+        var source = fxmlCompiler.compile(RESOURCE, new ByteArrayInputStream(FIXTURE_VIEW.getBytes(StandardCharsets.UTF_8)));
+        var dependencyContainer = new DependencyContainer();
+        var resources = new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return new Object[][]{{"title", "Translated"}};
+            }
+        };
+
+        // when
+        Assertions.assertTrue(compile(FxmlCompiler.className(RESOURCE), source), diagnostics.getDiagnostics() + source);
+        try (var classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            var view = (CompiledView) classLoader.loadClass(FxmlCompiler.className(RESOURCE)).getConstructor().newInstance();
+            var controller = (FxmlFixtures.FixtureController) view.createController(dependencyContainer::getOrCreateInjectableTypes);
+            var location = URI.create("file:/" + RESOURCE).toURL();
+            var root = (FxmlFixtures.Box) view.createRoot(controller, location, resources);
+
+            // then
+            Assertions.assertEquals(RESOURCE, view.resource());
+            Assertions.assertSame(location, controller.location);
+            Assertions.assertSame(resources, controller.resources);
+            Assertions.assertEquals("root", root.getId());
+            Assertions.assertEquals(4.0, root.getSpacing());
+            Assertions.assertEquals(2, root.getChildren().size());
+
+            var title = (FxmlFixtures.Label) root.getChildren().get(0);
+            Assertions.assertSame(title, controller.title);
+            Assertions.assertEquals("title", title.getId());
+            Assertions.assertEquals("Translated", title.getText());
+            Assertions.assertEquals(FxmlFixtures.Alignment.CENTER, title.getAlignment());
+
+            var literal = (FxmlFixtures.Label) root.getChildren().get(1);
+            Assertions.assertEquals("%literal", literal.getText());
+            Assertions.assertEquals(FxmlFixtures.Alignment.TOP_LEFT, literal.getAlignment());
+            Assertions.assertEquals(1, controller.initializations);
+        }
+    }
+
+    @Test
+    void shouldRejectUnsupportedFeatures() {
+        // given
+        var fxmlCompiler = new FxmlCompiler(getClass().getClassLoader());
+        var view = """
+                <?import com.cerocss.fxdi.processor.FxmlFixtures.*?>
+                <Box xmlns:fx="http://javafx.com/fxml">
+                    <fx:include source="other.fxml"/>
+                </Box>
+                """;
+
+        // when
+        var exception = Assertions.assertThrows(RuntimeException.class,
+                () -> fxmlCompiler.compile(RESOURCE, new ByteArrayInputStream(view.getBytes(StandardCharsets.UTF_8))));
+
+        // then
+        Assertions.assertEquals("fx:include is not supported by the compiler.", exception.getMessage());
+    }
+
+    /**
+     * Helper method to compile a generated view into the output directory.
+     *
+     * @param className the qualified name of the generated view
+     * @param source    the generated source
+     * @return true if the compilation succeeded
+     */
+    private boolean compile(String className, String source) throws IOException {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        try (var fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+            fileManager.setLocationFromPaths(StandardLocation.CLASS_OUTPUT, List.of(output));
+            var compilationUnit = new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            };
+            var arguments = List.of("-proc:none", "-classpath", System.getProperty("java.class.path"));
+            return compiler.getTask(null, fileManager, diagnostics, arguments, null, List.of(compilationUnit)).call();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.cerocss.fxdi.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Node and controller classes used in the fxml files compiled by the {@link FxmlCompilerTest}.
+ */
+public class FxmlFixtures {
+
+    public enum Alignment {
+        TOP_LEFT, CENTER
+    }
+
+    public static class Box {
+        private final List<Object> children = new ArrayList<>();
+        private double spacing;
+        private String id;
+
+        public List<Object> getChildren() {
+            return children;
+        }
+
+        public double getSpacing() {
+            return spacing;
+        }
+
+        public void setSpacing(double spacing) {
+            this.spacing = spacing;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+
+    public static class Label {
+        private String text;
+        private Alignment alignment;
+        private String id;
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+
+        public Alignment getAlignment() {
+            return alignment;
+        }
+
+        public void setAlignment(Alignment alignment) {
+            this.alignment = alignment;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+
+    public static class FixtureController {
+        public Label title;
+        public java.net.URL location;
+        public java.util.ResourceBundle resources;
+        public int initializations;
+
+        public void initialize() {
+            initializations++;
+        }
+    }
+}
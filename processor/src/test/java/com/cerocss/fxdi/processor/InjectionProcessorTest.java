@@ -0,0 +1,308 @@
+package com.cerocss.fxdi.processor;
+
+import com.cerocss.fxdi.InjectableFactory;
+import com.cerocss.fxdi.Lazy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tests the factory generation and compile time validation of the {@link InjectionProcessor} by compiling example
+ * sources.
+ */
+public class InjectionProcessorTest {
+
+    private static final String REPOSITORY = """
+            package example;
+
+            @com.cerocss.fxdi.Singleton
+            public class Repository {
+                public Repository() throws java.io.IOException {
+                }
+            }
+            """;
+
+    private static final String SERVICE = """
+            package example;
+
+            @com.cerocss.fxdi.Singleton
+            public class Service {
+                public final Repository repository;
+
+                public Service() {
+                    this(null);
+                }
+
+                @com.cerocss.fxdi.InjectionConstructor
+                public Service(Repository repository) {
+                    this.repository = repository;
+                }
+            }
+            """;
+
+    private Path output;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @BeforeEach
+    void setupTests() throws IOException {
+        output = Files.createTempDirectory("fxdi-processor");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    @Test
+    void shouldGenerateFactories() throws Exception {
+        // when
+        var success = compile(List.of(), REPOSITORY, SERVICE);
+
+        // then
+        Assertions.assertTrue(success, diagnostics.getDiagnostics().toString());
+        Assertions.assertEquals(List.of("example.Repository_FXDIFactory", "example.Service_FXDIFactory"),
+                Files.readAllLines(output.resolve("META-INF/services/com.cerocss.fxdi.InjectableFactory")));
+
+        try (var classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            var repositoryFactory = (InjectableFactory<?>) classLoader.loadClass("example.Repository_FXDIFactory").getConstructor().newInstance();
+            var serviceFactory = (InjectableFactory<?>) classLoader.loadClass("example.Service_FXDIFactory").getConstructor().newInstance();
+            var repository = repositoryFactory.create();
+            var service = serviceFactory.create(repository);
+
+            Assertions.assertEquals("example.Service", serviceFactory.type().getName());
+            Assertions.assertArrayEquals(new Class<?>[]{repositoryFactory.type()}, serviceFactory.dependencies());
+            Assertions.assertSame(repository, service.getClass().getField("repository").get(service));
+        }
+    }
+
+    @Test
+    void shouldIndexProcessedClasses() throws IOException {
+        // when
+        var success = compile(List.of(), REPOSITORY, SERVICE, """
+                package example;
+
+                public class Controller {
+                    public Controller() {
+                    }
+
+                    @com.cerocss.fxdi.InjectionConstructor
+                    public Controller(Service service) {
+                    }
+
+                    @com.cerocss.fxdi.Singleton
+                    public static class Nested {
+                        public Nested() {
+                        }
+                    }
+                }
+                """);
+
+        // then
+        Assertions.assertTrue(success, diagnostics.getDiagnostics().toString());
+        Assertions.assertEquals(List.of("example.Controller", "example.Controller$Nested", "example.Repository", "example.Service"),
+                Files.readAllLines(output.resolve(InjectionProcessor.INDEX_RESOURCE)));
+    }
+
+    @Test
+    void shouldReportCircularDependencies() throws IOException {
+        var success = compile(List.of(), """
+                package example;
+
+                @com.cerocss.fxdi.Singleton
+                public class Circular {
+                    public Circular(Circular circular) {
+                    }
+                }
+                """);
+
+        Assertions.assertFalse(success);
+        assertError("example.Circular has circular dependencies. Visited classes: [example.Circular] already contains: example.Circular.");
+    }
+
+    @Test
+    void shouldGenerateFactoryWithLazyDependencies() throws Exception {
+        // when
+        var success = compile(List.of(), REPOSITORY, """
+                package example;
+
+                @com.cerocss.fxdi.Singleton
+                public class LazyService {
+                    public LazyService(com.cerocss.fxdi.Lazy<Repository> repository, com.cerocss.fxdi.Lazy<LazyService> self) {
+                    }
+                }
+                """);
+
+        // then
+        Assertions.assertTrue(success, diagnostics.getDiagnostics().toString());
+        try (var classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            var factory = (InjectableFactory<?>) classLoader.loadClass("example.LazyService_FXDIFactory").getConstructor().newInstance();
+
+            Assertions.assertArrayEquals(new Class<?>[]{Lazy.class, Lazy.class}, factory.dependencies());
+            Assertions.assertArrayEquals(new Class<?>[]{classLoader.loadClass("example.Repository"), factory.type()}, factory.lazyDependencies());
+        }
+    }
+
+    @Test
+    void shouldReportLazyNonSingletonDependency() throws IOException {
+        var success = compile(List.of(), """
+                package example;
+
+                @com.cerocss.fxdi.Singleton
+                public class Dependent {
+                    public Dependent(com.cerocss.fxdi.Lazy<String> value) {
+                    }
+                }
+                """);
+
+        Assertions.assertFalse(success);
+        assertError("java.lang.String is not marked as Singleton. Constructors of injected classes that are not manually registered are only allowed to contain singletons. Classes that are registered manually can be declared with -Afxdi.manualDependencies.");
+    }
+
+    @Test
+    void shouldReportLazyPrototypeDependency() throws IOException {
+        var success = compile(List.of(), """
+                package example;
+
+                @com.cerocss.fxdi.Prototype
+                class Item {
+                }
+
+                @com.cerocss.fxdi.Singleton
+                public class Dependent {
+                    public Dependent(com.cerocss.fxdi.Lazy<Item> item) {
+                    }
+                }
+                """);
+
+        Assertions.assertFalse(success);
+        assertError("example.Dependent has a Lazy constructor parameter referencing example.Item, which is Prototype. Lazy references are created once and would be shared by all instances.");
+    }
+
+    @Test
+    void shouldReportNonSingletonDependency() throws IOException {
+        var success = compile(List.of(), """
+                package example;
+
+                @com.cerocss.fxdi.Singleton
+                public class Dependent {
+                    public Dependent(String value) {
+                    }
+                }
+                """);
+
+        Assertions.assertFalse(success);
+        assertError("java.lang.String is not marked as Singleton. Constructors of injected classes that are not manually registered are only allowed to contain singletons. Classes that are registered manually can be declared with -Afxdi.manualDependencies.");
+    }
+
+    @Test
+    void shouldAllowManualDependencies() throws IOException {
+        var success = compile(List.of("-Afxdi.manualDependencies=java.lang.String"), """
+                package example;
+
+                @com.cerocss.fxdi.Singleton
+                public class Dependent {
+                    public Dependent(String value, com.cerocss.fxdi.DependencyContainer container) {
+                    }
+                }
+                """);
+
+        Assertions.assertTrue(success, diagnostics.getDiagnostics().toString());
+    }
+
+    @Test
+    void shouldAllowPrototypeAndViewScopedDependencies() throws IOException {
+        var success = compile(List.of(), REPOSITORY, """
+                package example;
+
+                @com.cerocss.fxdi.Prototype
+                public class Form {
+                    public Form(Repository repository) {
+                    }
+                }
+                """, """
+                package example;
+
+                @com.cerocss.fxdi.ViewScoped
+                public class Selection {
+                    public Selection() {
+                    }
+                }
+                """, """
+                package example;
+
+                public class Controller {
+                    @com.cerocss.fxdi.InjectionConstructor
+                    public Controller(Form form, Selection selection) {
+                    }
+                }
+                """);
+
+        Assertions.assertTrue(success, diagnostics.getDiagnostics().toString());
+        Assertions.assertEquals(List.of("example.Controller", "example.Form", "example.Repository", "example.Selection"),
+                Files.readAllLines(output.resolve(InjectionProcessor.INDEX_RESOURCE)));
+    }
+
+    @Test
+    void shouldReportMultipleConstructors() throws IOException {
+        var success = compile(List.of(), REPOSITORY, """
+                package example;
+
+                @com.cerocss.fxdi.Singleton
+                public class Ambiguous {
+                    public Ambiguous() {
+                    }
+
+                    public Ambiguous(Repository repository) {
+                    }
+                }
+                """);
+
+        Assertions.assertFalse(success);
+        assertError("example.Ambiguous has multiple public constructors. Annotate a single one with @InjectionController.");
+    }
+
+    /**
+     * Compile the given sources using the {@link InjectionProcessor}.
+     *
+     * @param options additional compiler options
+     * @param sources sources to compile, each declaring a single public class
+     * @return true if the compilation succeeded
+     */
+    private boolean compile(List<String> options, String... sources) throws IOException {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        try (var fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+            fileManager.setLocationFromPaths(StandardLocation.CLASS_OUTPUT, List.of(output));
+            fileManager.setLocationFromPaths(StandardLocation.SOURCE_OUTPUT, List.of(output));
+
+            var compilationUnits = new ArrayList<JavaFileObject>();
+            for (var source : sources) {
+                var name = source.replaceAll("(?s).*public class (\\w+).*", "$1");
+                compilationUnits.add(new SimpleJavaFileObject(URI.create("string:///example/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+                    @Override
+                    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                        return source;
+                    }
+                });
+            }
+
+            var arguments = new ArrayList<>(options);
+            arguments.addAll(List.of("-classpath", System.getProperty("java.class.path")));
+            var task = compiler.getTask(null, fileManager, diagnostics, arguments, null, compilationUnits);
+            task.setProcessors(List.of(new InjectionProcessor()));
+            return task.call();
+        }
+    }
+
+    private void assertError(String message) {
+        Assertions.assertTrue(diagnostics.getDiagnostics().stream()
+                .anyMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR && message.equals(diagnostic.getMessage(Locale.ROOT))),
+                diagnostics.getDiagnostics().toString());
+    }
+}
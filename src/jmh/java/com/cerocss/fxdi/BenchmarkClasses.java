@@ -0,0 +1,209 @@
+package com.cerocss.fxdi;
+
+/**
+ * These classes are used for benchmarking purposes by providing dependency graphs of different shapes.
+ */
+public abstract class BenchmarkClasses {
+
+    /**
+     * Start of a chain of {@link Singleton} models, each depending on the previous one.
+     */
+    @Singleton
+    public static class Chain0 {
+        public Chain0() {
+        }
+    }
+
+    /**
+     * Link 1 of the {@link Singleton} chain.
+     */
+    @Singleton
+    public static class Chain1 {
+        public Chain1(Chain0 previous) {
+        }
+    }
+
+    /**
+     * Link 2 of the {@link Singleton} chain.
+     */
+    @Singleton
+    public static class Chain2 {
+        public Chain2(Chain1 previous) {
+        }
+    }
+
+    /**
+     * Link 3 of the {@link Singleton} chain.
+     */
+    @Singleton
+    public static class Chain3 {
+        public Chain3(Chain2 previous) {
+        }
+    }
+
+    /**
+     * Link 4 of the {@link Singleton} chain.
+     */
+    @Singleton
+    public static class Chain4 {
+        public Chain4(Chain3 previous) {
+        }
+    }
+
+    /**
+     * Link 5 of the {@link Singleton} chain.
+     */
+    @Singleton
+    public static class Chain5 {
+        public Chain5(Chain4 previous) {
+        }
+    }
+
+    /**
+     * Link 6 of the {@link Singleton} chain.
+     */
+    @Singleton
+    public static class Chain6 {
+        public Chain6(Chain5 previous) {
+        }
+    }
+
+    /**
+     * Link 7 of the {@link Singleton} chain.
+     */
+    @Singleton
+    public static class Chain7 {
+        public Chain7(Chain6 previous) {
+        }
+    }
+
+    /**
+     * Link 8 of the {@link Singleton} chain.
+     */
+    @Singleton
+    public static class Chain8 {
+        public Chain8(Chain7 previous) {
+        }
+    }
+
+    /**
+     * Link 9 of the {@link Singleton} chain.
+     */
+    @Singleton
+    public static class Chain9 {
+        public Chain9(Chain8 previous) {
+        }
+    }
+
+    /**
+     * Controller at the end of the {@link Singleton} chain.
+     */
+    public static class DeepChainController {
+        public DeepChainController(Chain9 last) {
+        }
+    }
+
+    /**
+     * {@link Singleton} leaf model without dependencies, shared by the fan out controller and the diamond models.
+     */
+    @Singleton
+    public static class Leaf0 {
+        public Leaf0() {
+        }
+    }
+
+    /**
+     * {@link Singleton} model 1 sharing the first leaf model.
+     */
+    @Singleton
+    public static class Leaf1 {
+        public Leaf1(Leaf0 shared) {
+        }
+    }
+
+    /**
+     * {@link Singleton} model 2 sharing the first leaf model.
+     */
+    @Singleton
+    public static class Leaf2 {
+        public Leaf2(Leaf0 shared) {
+        }
+    }
+
+    /**
+     * {@link Singleton} model 3 sharing the first leaf model.
+     */
+    @Singleton
+    public static class Leaf3 {
+        public Leaf3(Leaf0 shared) {
+        }
+    }
+
+    /**
+     * {@link Singleton} model 4 sharing the first leaf model.
+     */
+    @Singleton
+    public static class Leaf4 {
+        public Leaf4(Leaf0 shared) {
+        }
+    }
+
+    /**
+     * {@link Singleton} model 5 sharing the first leaf model.
+     */
+    @Singleton
+    public static class Leaf5 {
+        public Leaf5(Leaf0 shared) {
+        }
+    }
+
+    /**
+     * {@link Singleton} model 6 sharing the first leaf model.
+     */
+    @Singleton
+    public static class Leaf6 {
+        public Leaf6(Leaf0 shared) {
+        }
+    }
+
+    /**
+     * {@link Singleton} model 7 sharing the first leaf model.
+     */
+    @Singleton
+    public static class Leaf7 {
+        public Leaf7(Leaf0 shared) {
+        }
+    }
+
+    /**
+     * Controller depending on many {@link Singleton} models that share a common dependency.
+     */
+    public static class WideFanOutController {
+        public WideFanOutController(Leaf0 leaf0, Leaf1 leaf1, Leaf2 leaf2, Leaf3 leaf3, Leaf4 leaf4, Leaf5 leaf5, Leaf6 leaf6, Leaf7 leaf7) {
+        }
+    }
+
+    /**
+     * Model that is not a {@link Singleton} and has to be registered manually.
+     */
+    public static class ManualModel {
+        public ManualModel() {
+        }
+    }
+
+    /**
+     * Controller depending on a manually registered model.
+     */
+    public static class ManualController {
+        public ManualController(ManualModel manualModel) {
+        }
+    }
+
+    /**
+     * Controller of the benchmarked fxml views.
+     */
+    public static class ViewController {
+        public ViewController(Leaf1 leaf1, Chain1 chain1) {
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.cerocss.fxdi;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.cerocss.fxdi.BenchmarkClasses.*;
+
+/**
+ * Benchmarks the resolution and instantiation of dependency graphs of different shapes by the
+ * {@link DependencyContainer}. Run with {@code ./gradlew jmh}, which includes the allocation profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DependencyContainerBenchmark {
+
+    private DependencyContainer warmContainer;
+
+    private DependencyContainer manualContainer;
+
+    private final ManualModel manualModel = new ManualModel();
+
+    @Setup
+    public void setup() {
+        warmContainer = new DependencyContainer();
+        warmContainer.getOrCreateInjectableTypes(DeepChainController.class);
+        warmContainer.getOrCreateInjectableTypes(WideFanOutController.class);
+
+        manualContainer = new DependencyContainer();
+        manualContainer.registerSingletonManually(manualModel);
+    }
+
+    /**
+     * Resolves and creates a chain of singletons in a new container.
+     */
+    @Benchmark
+    public Object coldDeepChain() {
+        return new DependencyContainer().getOrCreateInjectableTypes(DeepChainController.class);
+    }
+
+    /**
+     * Resolves and creates many singletons sharing a dependency in a new container.
+     */
+    @Benchmark
+    public Object coldWideFanOut() {
+        return new DependencyContainer().getOrCreateInjectableTypes(WideFanOutController.class);
+    }
+
+    /**
+     * Creates a controller whose chain of singletons is already registered.
+     */
+    @Benchmark
+    public Object warmDeepChain() {
+        return warmContainer.getOrCreateInjectableTypes(DeepChainController.class);
+    }
+
+    /**
+     * Creates a controller whose singletons are already registered.
+     */
+    @Benchmark
+    public Object warmWideFanOut() {
+        return warmContainer.getOrCreateInjectableTypes(WideFanOutController.class);
+    }
+
+    /**
+     * Looks up a registered singleton.
+     */
+    @Benchmark
+    public Object registeredSingleton() {
+        return warmContainer.getOrCreateInjectableTypes(Chain9.class);
+    }
+
+    /**
+     * Registers a singleton manually and creates a controller depending on it.
+     */
+    @Benchmark
+    public Object manualRegistration() {
+        manualContainer.registerSingletonManually(manualModel);
+        return manualContainer.getOrCreateInjectableTypes(ManualController.class);
+    }
+}
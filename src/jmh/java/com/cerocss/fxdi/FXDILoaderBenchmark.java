@@ -0,0 +1,51 @@
+package com.cerocss.fxdi;
+
+import javafx.application.Platform;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Benchmarks loading fxml views of different sizes through the {@link FXDILoader}. The JavaFX toolkit is started
+ * headless using Monocle. Run with {@code ./gradlew jmh}, which includes the allocation profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FXDILoaderBenchmark {
+
+    /**
+     * Whether the JavaFX toolkit was started, as it can only be started once per JVM but every trial runs the setup.
+     */
+    private static final AtomicBoolean TOOLKIT_STARTED = new AtomicBoolean();
+
+    @Param({"small-view.fxml", "large-view.fxml"})
+    public String view;
+
+    private FXDILoader fxdiLoader;
+
+    private URL url;
+
+    @Setup
+    public void setup() {
+        if (TOOLKIT_STARTED.compareAndSet(false, true)) {
+            Platform.startup(() -> {
+            });
+        }
+        fxdiLoader = new FXDILoader();
+        url = FXDILoaderBenchmark.class.getResource(view);
+    }
+
+    /**
+     * Loads a view including the creation of its controller with already registered singletons.
+     */
+    @Benchmark
+    public Object load() {
+        return fxdiLoader.load(url);
+    }
+}
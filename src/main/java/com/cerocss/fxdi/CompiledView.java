@@ -0,0 +1,38 @@
+package com.cerocss.fxdi;
+
+import java.net.URL;
+import java.util.ResourceBundle;
+import java.util.function.Function;
+
+/**
+ * A fxml file compiled to Java code at build time, which constructs the scene graph directly instead of parsing the
+ * file. Implementations are generated by the {@code FxmlCompiler} of the annotation processor module and registered as
+ * services. The {@link FXDILoader} uses them in place of an {@link javafx.fxml.FXMLLoader} for the compiled files.
+ */
+public interface CompiledView {
+
+    /**
+     * @return the classpath resource name of the compiled fxml file, e.g. {@code com/example/main.fxml}
+     */
+    String resource();
+
+    /**
+     * Create the controller declared by the fxml file.
+     *
+     * @param controllerFactory the factory to create the controller with, e.g. a dependency container's
+     *                          {@link DependencyContainer#getOrCreateInjectableTypes(Class)}
+     * @return the created controller or null if the fxml file does not declare one
+     */
+    Object createController(Function<Class<?>, Object> controllerFactory);
+
+    /**
+     * Construct the scene graph of the fxml file, inject its elements into the controller and initialize the
+     * controller.
+     *
+     * @param controller the controller created by {@link #createController(Function)}
+     * @param location   the url of the fxml file
+     * @param resources  the resource bundle to translate the texts with, or null if none is used
+     * @return the root of the scene graph
+     */
+    Object createRoot(Object controller, URL location, ResourceBundle resources);
+}
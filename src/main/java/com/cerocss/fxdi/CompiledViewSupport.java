@@ -0,0 +1,152 @@
+package com.cerocss.fxdi;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reflective access to the private members of controllers, used by the code generated for a {@link CompiledView} when
+ * a field or method annotated with {@link javafx.fxml.FXML} is not accessible from the generated class. The members are
+ * looked up once per controller class, stopping at the classes of the Java and JavaFX platform, whose members cannot
+ * be made accessible. Only the members named in a call are made accessible.
+ */
+public final class CompiledViewSupport {
+
+    /**
+     * Fields of a class and its superclasses up to the first platform class, associated with their name.
+     */
+    private static final ClassValue<Map<String, Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected Map<String, Field> computeValue(Class<?> type) {
+            var fields = new HashMap<String, Field>();
+            for (var clazz = type; isControllerClass(clazz); clazz = clazz.getSuperclass()) {
+                for (var field : clazz.getDeclaredFields()) {
+                    fields.putIfAbsent(field.getName(), field);
+                }
+            }
+            return fields;
+        }
+    };
+
+    /**
+     * Methods of a class and its superclasses up to the first platform class, associated with their name, preferring
+     * methods with a single parameter.
+     */
+    private static final ClassValue<Map<String, Method>> METHODS = new ClassValue<>() {
+        @Override
+        protected Map<String, Method> computeValue(Class<?> type) {
+            var methods = new HashMap<String, Method>();
+            for (var clazz = type; isControllerClass(clazz); clazz = clazz.getSuperclass()) {
+                for (var method : clazz.getDeclaredMethods()) {
+                    if (method.getParameterCount() <= 1) {
+                        var existing = methods.get(method.getName());
+                        if (existing == null || existing.getParameterCount() < method.getParameterCount()) {
+                            methods.put(method.getName(), method);
+                        }
+                    }
+                }
+            }
+            return methods;
+        }
+    };
+
+    private CompiledViewSupport() {
+    }
+
+    /**
+     * Assign an element of the scene graph to a controller field.
+     *
+     * @param controller the controller to inject the element into
+     * @param field      the name of the field
+     * @param value      the element to inject
+     */
+    public static void inject(Object controller, String field, Object value) {
+        try {
+            accessible(FIELDS.get(controller.getClass()), controller, field).set(controller, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(controller.getClass().getName() + "." + field + " cannot be injected.", e);
+        }
+    }
+
+    /**
+     * Call a controller method without arguments, e.g. {@code initialize}.
+     *
+     * @param controller the controller to call the method on
+     * @param method     the name of the method
+     */
+    public static void invoke(Object controller, String method) {
+        call(controller, method, null);
+    }
+
+    /**
+     * Create an event handler calling a controller method, which either takes the event or no arguments.
+     *
+     * @param controller the controller to call the method on
+     * @param method     the name of the method
+     * @param <T>        type of the handled event
+     * @return the event handler
+     */
+    public static <T extends Event> EventHandler<T> handler(Object controller, String method) {
+        return event -> call(controller, method, event);
+    }
+
+    /**
+     * Helper method to call a controller method, passing the argument if the method declares a parameter.
+     *
+     * @param controller the controller to call the method on
+     * @param method     the name of the method
+     * @param argument   the argument for methods with a parameter
+     */
+    private static void call(Object controller, String method, Object argument) {
+        var target = accessible(METHODS.get(controller.getClass()), controller, method);
+        try {
+            if (target.getParameterCount() == 0) {
+                target.invoke(controller);
+            } else {
+                target.invoke(controller, argument);
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(controller.getClass().getName() + "." + method + " cannot be invoked.", e);
+        }
+    }
+
+    /**
+     * Helper method to look up a controller member by name and make it accessible if necessary.
+     *
+     * @param members    the members of the controller class associated with their name
+     * @param controller the controller declaring the member
+     * @param name       the name of the member
+     * @param <T>        type of the member
+     * @return the accessible member
+     * @throws RuntimeException if the controller does not declare the member
+     */
+    private static <T extends AccessibleObject & Member> T accessible(Map<String, T> members, Object controller, String name) {
+        var member = members.get(name);
+        if (member == null) {
+            throw new RuntimeException(controller.getClass().getName() + "." + name + " does not exist.");
+        }
+        if (!member.canAccess(Modifier.isStatic(member.getModifiers()) ? null : controller)) {
+            member.setAccessible(true);
+        }
+        return member;
+    }
+
+    /**
+     * Helper method to check whether a class may declare controller members, i.e. is not part of the Java or JavaFX
+     * platform.
+     *
+     * @param type the class to check
+     * @return true if the class is not null and not a platform class
+     */
+    private static boolean isControllerClass(Class<?> type) {
+        return type != null && !type.getName().startsWith("java.") && !type.getName().startsWith("javafx.");
+    }
+}
@@ -0,0 +1,59 @@
+package com.cerocss.fxdi;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Index of the {@link CompiledView} services generated at build time. The services are loaded once, on the first load
+ * of a fxml file, and associated with the url of the fxml file they were compiled from.
+ */
+final class CompiledViews {
+
+    /**
+     * Lazily loaded index, so that the services are only loaded once a fxml file is loaded.
+     */
+    private static final class Holder {
+
+        /**
+         * Compiled views associated with the external form of the url of their fxml file.
+         */
+        private static final Map<String, CompiledView> VIEWS = load();
+    }
+
+    private CompiledViews() {
+    }
+
+    /**
+     * Helper method to load all registered compiled views, skipping views whose fxml file is not on the classpath.
+     *
+     * @return compiled views associated with the external form of the url of their fxml file
+     */
+    private static Map<String, CompiledView> load() {
+        var classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = CompiledViews.class.getClassLoader();
+        }
+
+        var views = new HashMap<String, CompiledView>();
+        for (var view : ServiceLoader.load(CompiledView.class, classLoader)) {
+            var url = classLoader.getResource(view.resource());
+            if (url != null) {
+                views.put(url.toExternalForm(), view);
+            }
+        }
+        return Map.copyOf(views);
+    }
+
+    /**
+     * Look up the compiled view of a fxml file. The urls are compared by their external form to avoid host name
+     * resolution.
+     *
+     * @param url the url of the fxml file
+     * @return the compiled view or null if the file was not compiled at build time
+     */
+    static CompiledView find(URL url) {
+        return Holder.VIEWS.get(url.toExternalForm());
+    }
+}
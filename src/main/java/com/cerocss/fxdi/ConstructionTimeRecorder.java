@@ -0,0 +1,35 @@
+package com.cerocss.fxdi;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link InjectionListener} recording the construction time of every instantiated class, to be exported with
+ * {@link DependencyContainer#exportGraph(java.util.Collection, Map)}. Classes that are instantiated multiple times keep
+ * their latest construction time.
+ */
+public class ConstructionTimeRecorder implements InjectionListener {
+
+    /**
+     * Latest construction times in nanoseconds associated with their class.
+     */
+    private final Map<Class<?>, Long> constructionNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@link ConstructionTimeRecorder}.
+     */
+    public ConstructionTimeRecorder() {
+    }
+
+    @Override
+    public void onConstructed(Class<?> type, long nanos) {
+        constructionNanos.put(type, nanos);
+    }
+
+    /**
+     * @return a copy of the recorded construction times in nanoseconds associated with their class
+     */
+    public Map<Class<?>, Long> getConstructionNanos() {
+        return Map.copyOf(constructionNanos);
+    }
+}
@@ -1,48 +1,923 @@
 package com.cerocss.fxdi;
 
-import java.lang.reflect.Constructor;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 /**
- * Container that creates and keeps references to singletons of injectable classes.
+ * Container that creates and keeps references to singletons of injectable classes. The container is safe to be used
+ * from multiple threads: registered singletons are read without locking and every singleton is created exactly once,
+ * using a lock per class, so that independent singletons can be created in parallel.
+ * <p>
+ * Classes are created according to their scope: {@link Singleton} classes once per application, {@link Scoped} classes
+ * once per container, {@link ViewScoped} classes once per view loaded by a {@link FXDILoader} and {@link Prototype}
+ * classes for every injection. Requested classes without any of these annotations, usually controllers, are created
+ * for every request as well. Prototypes and requested classes are instantiated through a factory that is bound on
+ * first use, so that repeated creation does not resolve their dependency tree again.
+ * <p>
+ * Containers can be nested with {@link #createChild()} to hold the {@link Scoped} instances of a window or tab. A child
+ * container reads through to its parents for {@link Singleton} classes and manually registered singletons, which are
+ * created in the root container. Instances of the parents are not cached by the child, so that registrations and
+ * evictions on a parent are visible to all of its children. Closing a child container drops all instances it holds at
+ * once.
+ * <p>
+ * Singletons created by a container are disposed in reverse creation order when it is closed, so that every singleton
+ * is disposed before the singletons it depends on. Singletons that are {@link AutoCloseable} are closed, and their
+ * {@link Dispose} methods are called.
+ * <p>
+ * Singletons can declare {@link Initialize} methods, which are started right after construction and may complete
+ * asynchronously, so that slow initializations do not block the thread requesting the singleton. A singleton is only
+ * initialized once all singletons it depends on are initialized, while independent singletons are initialized
+ * concurrently. Callers that need
+ * fully initialized singletons, e.g. before showing a view, can await them with {@link #whenReady(Collection)}.
+ * <p>
+ * Once the object graph is complete, the container can be frozen with {@link #freeze(Collection)}, which switches to
+ * an immutable registry that is read without any contention and rejects further registrations.
+ * <p>
+ * The resolved dependency trees can be persisted with {@link #saveResolutionSnapshot(Path)} and restored on the next
+ * start with {@link #loadResolutionSnapshot(Path)}, which skips the reflective discovery of constructors and the
+ * validation of the dependency trees.
  */
-public class DependencyContainer {
+public class DependencyContainer implements AutoCloseable {
 
     /**
      * Registration map of created singletons. Entries are associated with their respective class, so that only one
-     * instance of a class is registered.
+     * instance of a class is registered. Replaced by an immutable copy when the container is frozen.
      */
-    private final Map<Class<?>, Object> injectableObjects = new HashMap<>();
+    private volatile Map<Class<?>, Object> injectableObjects = new ConcurrentHashMap<>();
 
     /**
-     * Constructs a new {@link DependencyContainer}
+     * Classes registered manually on this container, which are kept when the container is closed.
+     */
+    private final Set<Class<?>> manualRegistrations = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Classes registered manually on any container of the hierarchy, shared with the parent. Other classes that are not
+     * shared within a scope, e.g. controllers and {@link Prototype} classes, are never registered, so their lookup
+     * skips the parents.
+     */
+    private final Set<Class<?>> registrableTypes;
+
+    /**
+     * Whether the registry is immutable and no singletons can be created or registered anymore.
+     */
+    private volatile boolean frozen;
+
+    /**
+     * Singletons instantiated by this container in creation order, which is a valid instantiation order of their
+     * dependency graph. Manually registered singletons and instances of the parents are not part of it. Guarded by
+     * itself.
+     */
+    private final Map<Class<?>, Object> createdSingletons = new LinkedHashMap<>();
+
+    /**
+     * The container this container reads through to, or null if this is a root container.
+     */
+    private final DependencyContainer parent;
+
+    /**
+     * The top most container of the hierarchy, which holds the application wide singletons. A root container references
+     * itself.
+     */
+    private final DependencyContainer root;
+
+    /**
+     * Lock objects guarding the creation of singletons, one per class.
+     */
+    private final Map<Class<?>, Object> creationLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Handle of {@link #getOrCreateInjectableTypes(Class)}, which is bound into factory handles to create prototypes.
+     */
+    private static final MethodHandle GET_OR_CREATE = InjectionPlan.findVirtual(MethodHandles.lookup(), DependencyContainer.class,
+            "getOrCreateInjectableTypes", MethodType.methodType(Object.class, Class.class));
+
+    /**
+     * Factory handles of already instantiated classes with their singleton arguments bound, together with the registry
+     * generation their arguments were resolved in. They are ignored once a singleton of the hierarchy is registered
+     * manually, evicted or closed, because that may replace a bound argument.
+     */
+    private final Map<Class<?>, BoundConstructor> boundConstructors = new ConcurrentHashMap<>();
+
+    /**
+     * Generation of the registries of the container hierarchy, shared with the parent. It is incremented whenever a
+     * singleton is registered manually, evicted or closed in any container, so that all containers rebind their
+     * factory handles.
+     */
+    private final AtomicLong registryGeneration;
+
+    /**
+     * Whether this container holds the {@link ViewScoped} instances of a single view and delegates all other classes
+     * to its parent.
+     */
+    private final boolean viewScope;
+
+    /**
+     * Resolved dependency trees of the container hierarchy, shared with the parent.
+     */
+    private final ResolutionSnapshot resolutionSnapshot;
+
+    /**
+     * Executor used to create independent singletons in parallel, or null if singletons are created sequentially on
+     * the requesting thread.
+     */
+    private volatile Executor resolutionExecutor;
+
+    /**
+     * Executor used to run the {@link Initialize} methods that do not return a stage, or null to use the shared
+     * default executor.
+     */
+    private volatile Executor initializationExecutor;
+
+    /**
+     * Holder of the default executor of {@link Initialize} methods, which is only created once a singleton needs it.
+     */
+    private static final class DefaultInitializationExecutor {
+
+        /**
+         * Cached pool of daemon threads, as initializations usually block on I/O and must neither occupy the common
+         * pool nor keep the JVM alive.
+         */
+        private static final Executor INSTANCE = Executors.newCachedThreadPool(task -> {
+            var thread = new Thread(task, "fxdi-initialization");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Pending and completed initializations of the singletons created by this container that declare
+     * {@link Initialize} methods or depend on singletons declaring them, associated with their class.
+     */
+    private final Map<Class<?>, CompletableFuture<Void>> initializations = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the current thread creates a singleton as task of a resolution executor, so that nested resolutions do
+     * not wait for further tasks of the executor.
+     */
+    private static final ThreadLocal<Boolean> RESOLVING = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Listener receiving timing and count information, or null if nothing is measured.
+     */
+    private volatile InjectionListener injectionListener;
+
+    /**
+     * Constructs a new {@link DependencyContainer}. If the recording of startup metadata is enabled, the shared
+     * {@link StartupMetadataRecorder} is registered as injection listener.
      */
     public DependencyContainer() {
+        this(null, false);
+    }
+
+    /**
+     * Constructs a new {@link DependencyContainer} inheriting the settings of its parent.
+     *
+     * @param parent    the parent container or null for a root container
+     * @param viewScope whether the container holds the view scoped instances of a single view
+     */
+    private DependencyContainer(DependencyContainer parent, boolean viewScope) {
+        this.parent = parent;
+        this.viewScope = viewScope;
+        this.root = parent == null ? this : parent.root;
+        this.resolutionSnapshot = parent == null ? new ResolutionSnapshot() : parent.resolutionSnapshot;
+        this.registrableTypes = parent == null ? ConcurrentHashMap.newKeySet() : parent.registrableTypes;
+        this.registryGeneration = parent == null ? new AtomicLong() : parent.registryGeneration;
+        if (parent != null) {
+            resolutionExecutor = parent.resolutionExecutor;
+            initializationExecutor = parent.initializationExecutor;
+            injectionListener = parent.injectionListener;
+        } else {
+            injectionListener = StartupMetadataRecorder.global();
+        }
+    }
+
+    /**
+     * Create a child container, e.g. for a window or tab. The child creates and holds its own instances of
+     * {@link Scoped} classes and of the classes registered manually on it. {@link Singleton} classes are created in the
+     * root container and shared with all other containers of the hierarchy. Instances of the parents are looked up on
+     * every use, so later manual registrations on a parent are visible to the child as well. The child inherits the
+     * resolution executor and the injection listener of this container.
+     *
+     * @return the new child container
+     */
+    public DependencyContainer createChild() {
+        return new DependencyContainer(this, false);
+    }
+
+    /**
+     * Create the container of a single view, which creates and holds the {@link ViewScoped} instances of the view and
+     * the classes depending on them. All other classes are requested from this container.
+     *
+     * @return the new view container
+     */
+    DependencyContainer createViewScope() {
+        return new DependencyContainer(this, true);
+    }
+
+    /**
+     * Dispose all singletons created by this container in reverse creation order and drop them, so that they can be
+     * reclaimed. Manually registered singletons stay registered and are not disposed. Singletons whose creation is
+     * running concurrently are kept and disposed by the next close. The container can still be used afterwards and
+     * creates new instances on demand, even if it was frozen.
+     *
+     * @throws RuntimeException if a singleton cannot be disposed, after all other singletons are disposed
+     */
+    @Override
+    public void close() {
+        List<Map.Entry<Class<?>, Object>> created;
+        synchronized (createdSingletons) {
+            created = createdSingletons.entrySet().stream().map(entry -> Map.<Class<?>, Object>entry(entry.getKey(), entry.getValue())).toList();
+            createdSingletons.clear();
+        }
+        if (frozen) {
+            injectableObjects = new ConcurrentHashMap<>(injectableObjects);
+            frozen = false;
+        }
+        injectableObjects.keySet().removeIf(type -> !manualRegistrations.contains(type));
+        created.forEach(entry -> initializations.remove(entry.getKey()));
+        registryGeneration.incrementAndGet();
+        disposeAll(created);
+    }
+
+    /**
+     * Remove the singleton of a class together with all singletons created by this container that depend on it, so
+     * that they can be reclaimed and are created again on their next use. The removed singletons are disposed in
+     * reverse creation order if they were created by this container. Instances that already received one of the
+     * removed singletons keep their references.
+     *
+     * @param type the class of the singleton to remove
+     * @throws RuntimeException      if a singleton cannot be disposed, after all other singletons are disposed
+     * @throws IllegalStateException if the container is frozen
+     */
+    public void evict(Class<?> type) {
+        if (frozen) {
+            throw new IllegalStateException("The container is frozen. Singletons cannot be evicted anymore.");
+        }
+        var evicted = new ArrayList<Map.Entry<Class<?>, Object>>();
+        synchronized (createdSingletons) {
+            var evictedTypes = new HashSet<Class<?>>();
+            evictedTypes.add(type);
+            for (var entry : createdSingletons.entrySet()) {
+                if (entry.getKey() == type || InjectionPlan.of(entry.getKey()).dependsOnAny(evictedTypes)) {
+                    evictedTypes.add(entry.getKey());
+                    evicted.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+            evicted.forEach(entry -> createdSingletons.remove(entry.getKey()));
+        }
+        injectableObjects.remove(type);
+        manualRegistrations.remove(type);
+        evicted.forEach(entry -> injectableObjects.remove(entry.getKey(), entry.getValue()));
+        evicted.forEach(entry -> initializations.remove(entry.getKey()));
+        registryGeneration.incrementAndGet();
+        disposeAll(evicted);
+    }
+
+    /**
+     * Validate the dependency trees of the given root classes, create all singletons they require, including the
+     * targets of {@link Lazy} references, and switch to an immutable registry afterwards. All configuration errors of
+     * the roots are reported at once and leave the container unchanged. Once frozen, registered singletons are read
+     * without any locking, root classes whose singletons are all registered are still created on every request, and
+     * requests that would have to create or register another singleton are rejected. Should be called once startup is
+     * complete and no other thread creates singletons anymore.
+     *
+     * @param roots classes that are created after the container is frozen, usually controllers
+     * @throws RuntimeException      if the dependency tree of any root is invalid, with the errors of all roots
+     *                               suppressed
+     * @throws IllegalStateException if the container is already frozen
+     */
+    public void freeze(Collection<Class<?>> roots) {
+        if (frozen) {
+            throw new IllegalStateException("The container is already frozen.");
+        }
+
+        var errors = new LinkedHashMap<String, RuntimeException>();
+        var singletons = new LinkedHashSet<Class<?>>();
+        var resolved = new HashSet<Class<?>>();
+        var pending = new ArrayDeque<Class<?>>(roots);
+        while (!pending.isEmpty()) {
+            var root = pending.poll();
+            if (!resolved.add(root)) {
+                continue;
+            }
+            try {
+                var order = new ArrayList<>(resolveOrder(root));
+                order.add(root);
+                for (var type : order) {
+                    if ((type != root || isShared(root)) && !type.isAnnotationPresent(ViewScoped.class)) {
+                        singletons.add(type);
+                    }
+                    Arrays.stream(InjectionPlan.of(type).getLazyTargets()).filter(Objects::nonNull).forEach(pending::add);
+                }
+            } catch (RuntimeException e) {
+                errors.putIfAbsent(e.getMessage(), e);
+            }
+        }
+        if (!errors.isEmpty()) {
+            var error = new RuntimeException("The container cannot be frozen. " + String.join(" ", errors.keySet()));
+            errors.values().forEach(error::addSuppressed);
+            throw error;
+        }
+
+        singletons.forEach(this::createSingleton);
+        injectableObjects = Map.copyOf(injectableObjects);
+        frozen = true;
+    }
+
+    /**
+     * @return true if the container is frozen
+     * @see #freeze(Collection)
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Export the dependency graph of the given root classes, e.g. to find the chain of singletons that slows down the
+     * startup. The dependency trees are validated beforehand. Registered classes that are not annotated as
+     * {@link Singleton} or {@link Scoped} are leaves of the graph, as they cannot be constructed by the container. The
+     * construction times can be recorded by registering a {@link ConstructionTimeRecorder} as injection listener.
+     *
+     * @param roots             classes whose dependency trees should be exported, usually controllers
+     * @param constructionNanos construction times in nanoseconds associated with their class
+     * @return the dependency graph including its critical path
+     * @see ConstructionTimeRecorder#getConstructionNanos()
+     */
+    public DependencyGraph exportGraph(Collection<Class<?>> roots, Map<Class<?>, Long> constructionNanos) {
+        roots.forEach(this::resolveOrder);
+        return new DependencyGraph(roots, type -> !isInjectable(type) && isRegistered(type), constructionNanos);
+    }
+
+    /**
+     * Restore the dependency trees resolved by a previous start of the application, so that the recorded constructors
+     * and instantiation orders are used instead of discovering and validating them again. The snapshot is ignored if
+     * the runtime image or classpath changed since it was written or if it references classes or members that do not
+     * exist anymore. In that case the dependency trees are resolved as usual and the snapshot should be written again.
+     *
+     * @param file the snapshot file written by {@link #saveResolutionSnapshot(Path)}
+     * @return true if the snapshot was restored, false if it does not exist or is stale
+     * @throws RuntimeException if the file cannot be read
+     */
+    public boolean loadResolutionSnapshot(Path file) {
+        return resolutionSnapshot.load(file);
+    }
+
+    /**
+     * Write the dependency trees resolved by this container hierarchy so far to a file, usually once the startup is
+     * complete. The snapshot contains the selected constructors, their parameter order and the instantiation orders of
+     * all resolved classes and is keyed by the current classpath.
+     *
+     * @param file the file to write, which is replaced if it exists
+     * @throws RuntimeException if the file cannot be written
+     * @see #loadResolutionSnapshot(Path)
+     */
+    public void saveResolutionSnapshot(Path file) {
+        resolutionSnapshot.save(file);
+    }
+
+    /**
+     * Helper method to dispose singletons in reverse order, continuing after failures.
+     *
+     * @param singletons the singletons to dispose in creation order
+     * @throws RuntimeException if a singleton cannot be disposed, with the failures of the following singletons
+     *                          suppressed
+     */
+    private static void disposeAll(List<Map.Entry<Class<?>, Object>> singletons) {
+        RuntimeException failure = null;
+        for (int i = singletons.size() - 1; i >= 0; i--) {
+            var singleton = singletons.get(i);
+            try {
+                InjectionPlan.of(singleton.getKey()).dispose(singleton.getValue());
+            } catch (Exception e) {
+                var error = new RuntimeException(singleton.getKey().getName() + " cannot be disposed.", e);
+                if (failure == null) {
+                    failure = error;
+                } else {
+                    failure.addSuppressed(error);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
     }
 
     /**
      * Automatically create the respective class injecting singletons models, which are created if they did not exist before.
      * Singleton creation is propagated to all children of the respective classes. All created singleton instances are
-     * registered after creation for subsequent uses to share state across created instances.
+     * registered after creation for subsequent uses to share state across created instances. Requested classes that
+     * are {@link Singleton}, {@link Scoped} or {@link ViewScoped} are registered as well, while other classes are created
+     * for every request.
      *
      * @param type Type of object to instantiate
      * @return Instance of the requested type
      */
     public Object getOrCreateInjectableTypes(Class<?> type) {
-        var order = new Stack<Class<?>>();
-        order.add(type);
-        addConstructorParameters(type, order, new LinkedHashSet<>());
+        var registered = lookup(type);
+        if (registered != null) {
+            var listener = injectionListener;
+            if (listener != null) {
+                listener.onCacheHit(type);
+            }
+            return registered;
+        }
+        if (viewScope && !InjectionPlan.dependsOnViewScope(type)) {
+            return parent.getOrCreateInjectableTypes(type);
+        }
+        if (isShared(type)) {
+            return getOrCreateSingleton(type);
+        }
+
+        var plan = InjectionPlan.of(type);
+        if (boundConstructor(type, registryGeneration.get()) == null && !plan.isSatisfiedBy(this::isRegistered)) {
+            createDependencies(plan);
+        }
+        return instantiateInjectedClass(plan);
+    }
+
+    /**
+     * Enable the parallel creation of singletons. Independent branches of the dependency tree are then created as
+     * separate tasks on the given executor, and a singleton is only created once all of its dependencies exist. The
+     * requesting thread waits until all dependencies of the requested class are created. Resolutions started while a
+     * singleton is created on the executor, e.g. by a constructor requesting other classes from the container, create
+     * their singletons sequentially, as waiting for further tasks of the executor could exhaust it. The executor
+     * should not be shared with tasks that request classes from the container themselves, e.g. the executor of
+     * {@link FXDILoader#loadAll(List, Executor)}, as waiting requests could occupy all of its threads.
+     *
+     * @param executor executor to create singletons on, or null to create singletons sequentially on the requesting
+     *                 thread
+     */
+    public void setResolutionExecutor(Executor executor) {
+        resolutionExecutor = executor;
+    }
+
+    /**
+     * Set the executor running the {@link Initialize} methods that do not return a stage. Defaults to a cached pool of
+     * daemon threads shared by all containers.
+     *
+     * @param executor executor to initialize singletons on, or null to use the default executor
+     */
+    public void setInitializationExecutor(Executor executor) {
+        initializationExecutor = executor;
+    }
+
+    /**
+     * Register a listener receiving resolution and construction times as well as cache hits of this container and the
+     * load times of the {@link FXDILoader} using it. If the recording of startup metadata is enabled, the shared
+     * {@link StartupMetadataRecorder} keeps receiving all events together with the listener.
+     *
+     * @param listener the listener to register, or null to stop measuring
+     */
+    public void setInjectionListener(InjectionListener listener) {
+        injectionListener = combine(StartupMetadataRecorder.global(), listener);
+    }
+
+    /**
+     * Helper method to combine two listeners, so that both receive all events in the given order.
+     *
+     * @param first  the listener receiving events first, or null
+     * @param second the listener receiving events second, or null
+     * @return the combined listener, the only given or null if none is given
+     */
+    static InjectionListener combine(InjectionListener first, InjectionListener second) {
+        if (first == null || first == second) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return new InjectionListener() {
+            @Override
+            public void onResolved(Class<?> type, long nanos) {
+                first.onResolved(type, nanos);
+                second.onResolved(type, nanos);
+            }
+
+            @Override
+            public void onConstructed(Class<?> type, long nanos) {
+                first.onConstructed(type, nanos);
+                second.onConstructed(type, nanos);
+            }
+
+            @Override
+            public void onCacheHit(Class<?> type) {
+                first.onCacheHit(type);
+                second.onCacheHit(type);
+            }
+
+            @Override
+            public void onLoaded(URL url, long nanos) {
+                first.onLoaded(url, nanos);
+                second.onLoaded(url, nanos);
+            }
+
+            @Override
+            public void onViewLoaded(LoadedView<?> view) {
+                first.onViewLoaded(view);
+                second.onViewLoaded(view);
+            }
+
+            @Override
+            public void onViewElement(Class<?> type) {
+                first.onViewElement(type);
+                second.onViewElement(type);
+            }
+        };
+    }
+
+    /**
+     * @return the registered listener or null if none is registered
+     */
+    InjectionListener getInjectionListener() {
+        return injectionListener;
+    }
+
+    /**
+     * Create all singletons required by the given root classes in the background, e.g. while a splash screen is shown,
+     * so that the first creation of the root classes does not have to create any singleton. Root classes that are
+     * annotated as {@link Singleton} are created and registered themselves.
+     *
+     * @param roots    classes whose singletons should be created, usually controllers
+     * @param executor executor to create the singletons on
+     * @param progress callback receiving the number of created and the total number of singletons after each creation
+     * @return future that completes once all singletons are created, or completes exceptionally with the first failure
+     */
+    public CompletableFuture<Void> warmUp(Collection<Class<?>> roots, Executor executor, BiConsumer<Integer, Integer> progress) {
+        return CompletableFuture.runAsync(() -> {
+            var singletons = new LinkedHashSet<Class<?>>();
+            for (var root : roots) {
+                singletons.addAll(resolveOrder(root));
+                if (isShared(root)) {
+                    singletons.add(root);
+                }
+            }
+            singletons.removeIf(type -> isRegistered(type) || type.isAnnotationPresent(ViewScoped.class));
+
+            var created = 0;
+            for (var singleton : singletons) {
+                createSingleton(singleton);
+                progress.accept(++created, singletons.size());
+            }
+        }, executor);
+    }
+
+    /**
+     * Create all singletons required by the given root classes in the background.
+     *
+     * @param roots    classes whose singletons should be created, usually controllers
+     * @param executor executor to create the singletons on
+     * @return future that completes once all singletons are created
+     * @see #warmUp(Collection, Executor, BiConsumer)
+     */
+    public CompletableFuture<Void> warmUp(Collection<Class<?>> roots, Executor executor) {
+        return warmUp(roots, executor, (created, total) -> {
+        });
+    }
+
+    /**
+     * Await the initialization of all singletons required by the given root classes, e.g. to show a view only once the
+     * caches its controller relies on are loaded. Root classes that are annotated as {@link Singleton} or
+     * {@link Scoped} are awaited themselves. Singletons that do not exist yet are created on the calling thread, so
+     * {@link #warmUp(Collection, Executor)} should be used beforehand to keep their construction off the JavaFX
+     * Application Thread. {@link ViewScoped} singletons are created with every view and are not awaited.
+     *
+     * @param roots classes whose singletons should be initialized, usually controllers
+     * @return future that completes once all {@link Initialize} methods of the singletons completed, or completes
+     * exceptionally with the first failure
+     */
+    public CompletableFuture<Void> whenReady(Collection<Class<?>> roots) {
+        var singletons = new LinkedHashSet<Class<?>>();
+        for (var root : roots) {
+            singletons.addAll(resolveOrder(root));
+            if (isShared(root)) {
+                singletons.add(root);
+            }
+        }
+        singletons.removeIf(type -> type.isAnnotationPresent(ViewScoped.class));
+
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        for (var singleton : singletons) {
+            createSingleton(singleton);
+            var initialization = initialization(singleton);
+            if (initialization != null) {
+                futures.add(initialization);
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new));
+    }
+
+    /**
+     * Helper method to find the initialization of a singleton in this container or its parents.
+     *
+     * @param type class of the singleton
+     * @return the initialization of the singleton or null if neither it nor its dependencies have {@link Initialize}
+     * methods
+     */
+    private CompletableFuture<Void> initialization(Class<?> type) {
+        for (var container = this; container != null; container = container.parent) {
+            var initialization = container.initializations.get(type);
+            if (initialization != null) {
+                return initialization;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the classes annotated as {@link Singleton} or {@link Scoped} and the classes declaring an
+     * {@link InjectionConstructor}, as indexed by the annotation processor at compile time. They can be passed to
+     * {@link #warmUp(Collection, Executor)} or {@link #freeze(Collection)} to build the whole object graph eagerly
+     * without maintaining a list of classes and without scanning the classpath.
+     *
+     * @return the indexed classes of all modules on the classpath, or an empty list if the processor is not used
+     */
+    public static List<Class<?>> getIndexedTypes() {
+        return InjectableIndex.types();
+    }
+
+    /**
+     * Create all indexed singletons and the singletons required by all indexed classes in the background.
+     *
+     * @param executor executor to create the singletons on
+     * @return future that completes once all singletons are created
+     * @see #getIndexedTypes()
+     * @see #warmUp(Collection, Executor)
+     */
+    public CompletableFuture<Void> warmUpIndexed(Executor executor) {
+        return warmUp(getIndexedTypes(), executor);
+    }
+
+    /**
+     * Helper method to validate the dependency tree of a class and determine the instantiation order of its singletons.
+     * Orders recorded in the same container state are reused without validating the dependency tree again.
+     *
+     * @param type the class whose dependency tree should be resolved
+     * @return the singletons that need to be instantiated in instantiation order
+     */
+    private List<Class<?>> resolveOrder(Class<?> type) {
+        var listener = injectionListener;
+        var start = listener == null ? 0 : System.nanoTime();
+
+        var order = resolutionSnapshot.find(type, this::isRegistered);
+        if (order == null) {
+            var registered = new HashSet<Class<?>>();
+            order = addConstructorParameters(type, registered);
+            resolutionSnapshot.record(type, order, registered);
+        }
+
+        if (listener != null) {
+            listener.onResolved(type, System.nanoTime() - start);
+        }
+        return order;
+    }
+
+    /**
+     * Helper method to validate the dependency tree of a plan and create all singletons it requires, either
+     * sequentially in instantiation order or in parallel if a resolution executor is set.
+     *
+     * @param plan resolved plan of the class whose dependencies should be created
+     */
+    private void createDependencies(InjectionPlan plan) {
+        var order = resolveOrder(plan.getType());
+
+        var executor = resolutionExecutor;
+        if (executor == null || RESOLVING.get()) {
+            order.forEach(this::createSingleton);
+            return;
+        }
+
+        try {
+            scheduleDependencies(plan, new HashMap<>(), executor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Helper method to schedule the creation of all constructor parameters of a plan. The dependency tree has to be
+     * validated beforehand, as circular dependencies are not detected.
+     *
+     * @param plan      resolved plan of the class whose parameters should be created
+     * @param scheduled already scheduled singletons, so that shared dependencies are only scheduled once
+     * @param executor  executor to create singletons on
+     * @return future that completes once all parameters are registered
+     */
+    private CompletableFuture<Void> scheduleDependencies(InjectionPlan plan, Map<Class<?>, CompletableFuture<Void>> scheduled, Executor executor) {
+        var dependencies = plan.getDependencies();
+        var futures = new CompletableFuture<?>[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            futures[i] = scheduleSingleton(dependencies[i], scheduled, executor);
+        }
+        return CompletableFuture.allOf(futures);
+    }
 
-        Object object = null;
-        while (!order.isEmpty()) {
-            var clazz = order.pop();
-            object = Optional.ofNullable(injectableObjects.get(clazz)).orElseGet(() -> instantiateInjectedClass(getInjectionConstructor(clazz)));
-            if (clazz != type) {
-                injectableObjects.put(clazz, object);
+    /**
+     * Helper method to schedule the creation of a singleton after all of its dependencies are created. Prototypes are
+     * not created, only their dependencies.
+     *
+     * @param clazz     class of the singleton to create
+     * @param scheduled already scheduled singletons, so that shared dependencies are only scheduled once
+     * @param executor  executor to create singletons on
+     * @return future that completes once the singleton is registered
+     */
+    private CompletableFuture<Void> scheduleSingleton(Class<?> clazz, Map<Class<?>, CompletableFuture<Void>> scheduled, Executor executor) {
+        if (isRegistered(clazz)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        var future = scheduled.get(clazz);
+        if (future == null) {
+            future = scheduleDependencies(InjectionPlan.of(clazz), scheduled, executor);
+            if (isShared(clazz)) {
+                future = future.thenRunAsync(() -> createScheduledSingleton(clazz), executor);
             }
+            scheduled.put(clazz, future);
+        }
+        return future;
+    }
+
+    /**
+     * Helper method to create a singleton as task of the resolution executor, marking the thread as resolving while
+     * the singleton is created.
+     *
+     * @param clazz class of the singleton to create
+     */
+    private void createScheduledSingleton(Class<?> clazz) {
+        var resolving = RESOLVING.get();
+        RESOLVING.set(true);
+        try {
+            createSingleton(clazz);
+        } finally {
+            RESOLVING.set(resolving);
+        }
+    }
+
+    /**
+     * Get the registered singleton of a class or create and register it including its dependencies. Used to resolve
+     * {@link Lazy} dependencies, which create a new instance of {@link Prototype} classes.
+     *
+     * @param type class of the singleton
+     * @return the registered singleton
+     */
+    Object getOrCreateSingleton(Class<?> type) {
+        var registered = lookup(type);
+        if (registered != null) {
+            return registered;
+        }
+        if (type.isAnnotationPresent(Prototype.class)) {
+            return getOrCreateInjectableTypes(type);
+        }
+
+        var plan = InjectionPlan.of(type);
+        if (!plan.isSatisfiedBy(this::isRegistered)) {
+            createDependencies(plan);
         }
-        return object;
+        createSingleton(type);
+        return lookup(type);
+    }
+
+    /**
+     * Helper method to get the instance of a class registered in this container or one of its parents. Instances found
+     * in a parent are not cached, so that they are never used after the parent replaced or dropped them. The parents
+     * are only searched for classes that are shared within a scope or registered manually somewhere in the hierarchy,
+     * as no container holds instances of other classes.
+     *
+     * @param type class of the instance
+     * @return the registered instance or null if none of the containers holds an instance of the class
+     */
+    private Object lookup(Class<?> type) {
+        var registered = injectableObjects.get(type);
+        if (registered == null && parent != null && (isShared(type) || registrableTypes.contains(type))) {
+            registered = parent.lookup(type);
+        }
+        return registered;
+    }
+
+    /**
+     * Helper method to check whether an instance of a class is registered in this container or one of its parents.
+     *
+     * @param type class of the instance
+     * @return true if an instance is registered
+     */
+    private boolean isRegistered(Class<?> type) {
+        return lookup(type) != null;
+    }
+
+    /**
+     * Check whether a class may be injected without being registered manually.
+     *
+     * @param type class to check
+     * @return true if the class is annotated as {@link Singleton}, {@link Scoped}, {@link ViewScoped} or
+     * {@link Prototype}
+     */
+    static boolean isInjectable(Class<?> type) {
+        return isShared(type) || type.isAnnotationPresent(Prototype.class);
+    }
+
+    /**
+     * Helper method to check whether the instance of a class is registered and shared within its scope.
+     *
+     * @param type class to check
+     * @return true if the class is annotated as {@link Singleton}, {@link Scoped} or {@link ViewScoped}
+     */
+    private static boolean isShared(Class<?> type) {
+        return type.isAnnotationPresent(Singleton.class) || type.isAnnotationPresent(Scoped.class) || type.isAnnotationPresent(ViewScoped.class);
+    }
+
+    /**
+     * Helper method to create and register the singleton of a class whose dependencies are already registered. The
+     * creation is guarded by a lock of that class, so that concurrent requests create the singleton only once. As
+     * dependencies are created beforehand, no other creation lock is acquired while holding it. The {@link Initialize}
+     * methods of the singleton are scheduled after the initializations of its dependencies before it is registered, so
+     * that its initialization can be awaited as soon as it is visible to other threads. Child containers
+     * delegate the creation of {@link Singleton} classes to the root container, view containers delegate all classes
+     * but {@link ViewScoped} ones to their parent.
+     *
+     * @param clazz class of the singleton to create
+     * @throws IllegalStateException if the container is frozen
+     * @throws RuntimeException      if the class is {@link ViewScoped} and declares {@link Dispose} methods or is
+     *                               {@link AutoCloseable}, as view containers are never closed
+     */
+    private void createSingleton(Class<?> clazz) {
+        if (isRegistered(clazz)) {
+            return;
+        }
+        if (frozen) {
+            throw new IllegalStateException(clazz.getName() + " was not created before the container was frozen.");
+        }
+        var viewScoped = clazz.isAnnotationPresent(ViewScoped.class);
+        if (viewScoped != viewScope) {
+            if (viewScoped) {
+                throw new RuntimeException(clazz.getName() + " is ViewScoped and can only be created while loading a view.");
+            }
+            parent.getOrCreateSingleton(clazz);
+            return;
+        }
+        if (root != this && !viewScoped && !clazz.isAnnotationPresent(Scoped.class)) {
+            root.getOrCreateSingleton(clazz);
+            return;
+        }
+        var plan = InjectionPlan.of(clazz);
+        if (viewScoped && (AutoCloseable.class.isAssignableFrom(clazz) || plan.getDisposeMethods().length > 0)) {
+            throw new RuntimeException(clazz.getName() + " is ViewScoped and cannot be disposed. View containers are dropped together with their view and never closed.");
+        }
+        synchronized (creationLocks.computeIfAbsent(clazz, key -> new Object())) {
+            if (!injectableObjects.containsKey(clazz)) {
+                var instance = instantiateInjectedClass(plan);
+                var executor = initializationExecutor;
+                var initialization = plan.initialize(instance, dependencyInitializations(plan), executor == null ? DefaultInitializationExecutor.INSTANCE : executor);
+                if (initialization != null) {
+                    initializations.put(clazz, initialization);
+                }
+                synchronized (createdSingletons) {
+                    createdSingletons.put(clazz, instance);
+                }
+                injectableObjects.put(clazz, instance);
+            }
+        }
+    }
+
+    /**
+     * Helper method to combine the pending initializations of the dependencies of a plan, including the dependencies
+     * of {@link Prototype} parameters, which are created for every injection and not initialized themselves.
+     *
+     * @param plan resolved plan of the singleton
+     * @return future that completes once all dependencies are initialized, or null if none has to be awaited
+     */
+    private CompletableFuture<Void> dependencyInitializations(InjectionPlan plan) {
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        var visited = new HashSet<Class<?>>();
+        var pending = new ArrayDeque<>(List.of(plan.getDependencies()));
+        while (!pending.isEmpty()) {
+            var dependency = pending.poll();
+            if (!visited.add(dependency)) {
+                continue;
+            }
+            if (dependency.isAnnotationPresent(Prototype.class)) {
+                pending.addAll(List.of(InjectionPlan.of(dependency).getDependencies()));
+                continue;
+            }
+            var initialization = initialization(dependency);
+            if (initialization != null) {
+                futures.add(initialization);
+            }
+        }
+        return futures.isEmpty() ? null : CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new));
     }
 
     /**
@@ -61,87 +936,304 @@ public class DependencyContainer {
      *
      * @param clazz     key to be used for registering
      * @param singleton object to register
+     * @throws IllegalStateException if the container is frozen
      */
     public void registerSingletonManually(Class<?> clazz, Object singleton) {
+        if (frozen) {
+            throw new IllegalStateException("The container is frozen. " + clazz.getName() + " cannot be registered anymore.");
+        }
+        registrableTypes.add(clazz);
         injectableObjects.put(clazz, singleton);
+        manualRegistrations.add(clazz);
+        registryGeneration.incrementAndGet();
     }
 
     /**
-     * Recursively construct the dependency instantiation order of a specific class. The order is determined
-     * by the order of constructor parameters. Only classes annotated with {@link Singleton} are allowed to appear as
-     * constructor parameters. In addition to that, circular dependencies are checked to prohibit impossible object
-     * creation.
+     * Construct the dependency instantiation order of a specific class with an iterative depth first search, that
+     * visits every class once. The order of the search is determined by the order of constructor parameters. Only
+     * classes annotated with {@link Singleton} or {@link Scoped} are allowed to appear as constructor parameters, and
+     * singletons must not depend on scoped classes. In addition to that, circular dependencies are checked to prohibit
+     * impossible object creation. {@link Lazy} parameters are not part of the order, only their referenced class is
+     * checked to be a singleton. {@link Prototype} classes are not part of the order either, as they are created for
+     * every injection, but their dependencies are.
      *
-     * @param type         type to check parameters for
-     * @param order        order of classes that need to be instantiated (the level order search of the dependency tree)
-     * @param visitedNodes already visited classes on this branch of the dependency tree
+     * @param type       type to check parameters for
+     * @param registered collects the registered classes the order relies on
+     * @return classes that need to be instantiated in instantiation order, without duplicates and the requested class
      */
-    private void addConstructorParameters(Class<?> type, Stack<Class<?>> order, Set<Class<?>> visitedNodes) {
-        if (injectableObjects.containsKey(type)) {
-            return;
+    private List<Class<?>> addConstructorParameters(Class<?> type, Set<Class<?>> registered) {
+        var order = new ArrayList<Class<?>>();
+        if (isRegistered(type)) {
+            registered.add(type);
+            return order;
         }
 
-        if (visitedNodes.contains(type)) {
-            throw new RuntimeException(type.getName() + " has circular dependencies. Visited classes: " + visitedNodes.stream().map(Class::getName).toList() + " already contains: " + type.getName() + ".");
+        var path = new LinkedHashSet<Class<?>>();
+        var finished = new HashSet<Class<?>>();
+        var pending = new ArrayDeque<PendingNode>();
+        pending.push(visitNode(type, path, registered));
+        while (!pending.isEmpty()) {
+            var node = pending.peek();
+            if (node.next < node.dependencies.length) {
+                var dependency = node.dependencies[node.next++];
+                if (finished.contains(dependency)) {
+                    continue;
+                }
+                if (isRegistered(dependency)) {
+                    registered.add(dependency);
+                    continue;
+                }
+                if (path.contains(dependency)) {
+                    throw new RuntimeException(dependency.getName() + " has circular dependencies. Visited classes: " + path.stream().map(Class::getName).toList() + " already contains: " + dependency.getName() + ".");
+                }
+                pending.push(visitNode(dependency, path, registered));
+            } else {
+                pending.pop();
+                path.remove(node.type);
+                finished.add(node.type);
+                if (node.type != type && isShared(node.type)) {
+                    order.add(node.type);
+                }
+            }
         }
+        return order;
+    }
 
-        if (!visitedNodes.isEmpty() && !type.isAnnotationPresent(Singleton.class)) {
+    /**
+     * Helper method to validate a class of the dependency tree and add it to the current path.
+     *
+     * @param type       the class to validate
+     * @param path       the classes on the current branch of the dependency tree, starting with the requested class
+     * @param registered collects the registered classes the dependency tree relies on
+     * @return the node tracking the dependencies of the class that still have to be visited
+     */
+    private PendingNode visitNode(Class<?> type, Set<Class<?>> path, Set<Class<?>> registered) {
+        if (!path.isEmpty() && !isInjectable(type)) {
             throw new RuntimeException(type.getName() + " is not marked as Singleton. Constructors of injected classes that are not manually registered are only allowed to contain singletons.");
         }
 
-        var constructor = getInjectionConstructor(type);
+        var plan = InjectionPlan.of(type);
+        for (var lazyTarget : plan.getLazyTargets()) {
+            if (lazyTarget != null && !isInjectable(lazyTarget)) {
+                if (!isRegistered(lazyTarget)) {
+                    throw new RuntimeException(lazyTarget.getName() + " is not marked as Singleton. Constructors of injected classes that are not manually registered are only allowed to contain singletons.");
+                }
+                registered.add(lazyTarget);
+            }
+        }
+
+        if (type.isAnnotationPresent(Singleton.class) && !type.isAnnotationPresent(Scoped.class)) {
+            checkDependencyScopes(type, "a Singleton", plan, Scoped.class, ViewScoped.class);
+        } else if (type.isAnnotationPresent(Scoped.class)) {
+            checkDependencyScopes(type, "Scoped", plan, ViewScoped.class);
+        }
 
-        var nodes = new LinkedHashSet<>(visitedNodes);
-        nodes.add(type);
+        path.add(type);
+        return new PendingNode(type, plan.getDependencies());
+    }
 
-        if (constructor.getParameterTypes().length > 0) {
-            Collections.addAll(order, constructor.getParameterTypes());
-            Arrays.stream(constructor.getParameterTypes()).forEach(clazz -> addConstructorParameters(clazz, order, nodes));
+    /**
+     * A class on the current branch of the depth first search, together with the position of its next dependency to
+     * visit.
+     */
+    private static final class PendingNode {
+
+        /**
+         * The visited class.
+         */
+        private final Class<?> type;
+
+        /**
+         * The dependencies of the visited class in parameter order.
+         */
+        private final Class<?>[] dependencies;
+
+        /**
+         * Index of the next dependency to visit.
+         */
+        private int next;
+
+        private PendingNode(Class<?> type, Class<?>[] dependencies) {
+            this.type = type;
+            this.dependencies = dependencies;
         }
     }
 
     /**
-     * Helper method to figure out the constructor to be used for instantiation of objects. The constructor is
-     * determined by the amount of public and {@link InjectionConstructor} annotated constructors. Classes without
-     * public constructors cannot be instantiated by the {@link DependencyContainer}. If there are multiple public
-     * constructors, the one that is annotated with {@link InjectionConstructor} is used. Classes with multiple
-     * annotated public constructors or multiple not annotated constructors also cannot be instantiated by the
-     * {@link DependencyContainer}.
+     * Helper method to ensure that an application wide singleton does not capture the scoped instance of a single
+     * container, and that a scoped instance does not capture the instance of a single view.
      *
-     * @param type type to find the appropriate constructor for
-     * @return selected constructor of the requested class
+     * @param type           the singleton class
+     * @param scope          description of the scope of the singleton class
+     * @param plan           resolved plan of the singleton class
+     * @param narrowerScopes annotations of the scopes the singleton class must not depend on
      */
-    private Constructor<?> getInjectionConstructor(Class<?> type) {
-        return switch (type.getConstructors().length) {
-            case 0 ->
-                    throw new RuntimeException(type.getName() + " has no public constructors. It cannot be instantiated.");
-            case 1 -> type.getConstructors()[0];
-            default -> {
-                var injectionControllers = Arrays.stream(type.getConstructors()).filter(constructor -> constructor.isAnnotationPresent(InjectionConstructor.class)).toList();
-                yield switch (injectionControllers.size()) {
-                    case 0 ->
-                            throw new RuntimeException(type.getName() + " has multiple public constructors. Annotate a single one with @InjectionController.");
-                    case 1 -> injectionControllers.getFirst();
-                    default ->
-                            throw new RuntimeException(type.getName() + " has multiple public constructors annotated as InjectionController. There should be only a single public one.");
-                };
+    @SafeVarargs
+    private static void checkDependencyScopes(Class<?> type, String scope, InjectionPlan plan, Class<? extends Annotation>... narrowerScopes) {
+        var parameterTypes = plan.getParameterTypes();
+        var lazyTargets = plan.getLazyTargets();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            var dependency = lazyTargets[i] == null ? parameterTypes[i] : lazyTargets[i];
+            for (var narrowerScope : narrowerScopes) {
+                if (dependency.isAnnotationPresent(narrowerScope)) {
+                    throw new RuntimeException(type.getName() + " is " + scope + " and cannot depend on " + dependency.getName() + ", which is " + narrowerScope.getSimpleName() + ".");
+                }
             }
-        };
+        }
     }
 
     /**
-     * Helper method to create the instance for a given constructor injecting already instantiated singletons.
+     * Helper method to create the instance for a given plan injecting already instantiated singletons. The constructor
+     * is bound to its singleton arguments on first use, so that subsequent instantiations are a single method handle
+     * invocation. Constructors that are not accessible through method handles are invoked reflectively. Every
+     * singleton argument is reported to the listener as cache hit, whether it is looked up or bound.
      *
-     * @param constructor constructor to use for instantiation
-     * @return instance, that was created using the constructor
+     * @param plan resolved plan of the class to instantiate
+     * @return instance, that was created using the planned constructor
      */
-    private Object instantiateInjectedClass(Constructor<?> constructor) {
+    private Object instantiateInjectedClass(InjectionPlan plan) {
+        var listener = injectionListener;
+        if (listener == null) {
+            return instantiate(plan);
+        }
+
+        var parameterTypes = plan.getParameterTypes();
+        var lazyTargets = plan.getLazyTargets();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (lazyTargets[i] == null && !parameterTypes[i].isAnnotationPresent(Prototype.class)) {
+                listener.onCacheHit(parameterTypes[i]);
+            }
+        }
+        var start = System.nanoTime();
+        var instance = instantiate(plan);
+        listener.onConstructed(plan.getType(), System.nanoTime() - start);
+        return instance;
+    }
+
+    /**
+     * Helper method to create the instance for a given plan using its bound factory handle or reflection. Unchecked
+     * exceptions and errors thrown by the constructor are propagated unchanged, checked exceptions are wrapped.
+     *
+     * @param plan resolved plan of the class to instantiate
+     * @return instance, that was created using the planned constructor
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private Object instantiate(InjectionPlan plan) {
+        var generation = registryGeneration.get();
+        var factory = boundConstructor(plan.getType(), generation);
+        if (factory == null) {
+            var arguments = resolveArguments(plan);
+            factory = plan.bind(arguments, prototypeFactories(plan));
+            if (factory == null) {
+                return instantiateReflectively(plan, arguments);
+            }
+            boundConstructors.put(plan.getType(), new BoundConstructor(factory, generation));
+        }
+
+        try {
+            return (Object) factory.invokeExact();
+        } catch (Throwable e) {
+            throw instantiationFailure(plan, e);
+        }
+    }
+
+    /**
+     * Helper method to get the bound factory handle of a class. Handles whose arguments were resolved in an earlier
+     * registry generation are ignored, even if they were stored after a singleton of the hierarchy was registered
+     * manually, evicted or closed, so that no replaced argument is bound again.
+     *
+     * @param type       class to instantiate
+     * @param generation the current registry generation, read before resolving any argument
+     * @return the bound factory handle or null if the class was not bound in the given registry generation
+     */
+    private MethodHandle boundConstructor(Class<?> type, long generation) {
+        var bound = boundConstructors.get(type);
+        return bound == null || bound.generation() != generation ? null : bound.factory();
+    }
+
+    /**
+     * Helper method to collect the registered singletons matching the constructor parameters of a plan. Lazy
+     * parameters receive a {@link Lazy} reference to their singleton instead. {@link Prototype} parameters are created
+     * by the factories of the bound handle, or created here if the plan cannot be bound.
+     *
+     * @param plan resolved plan of the class to instantiate
+     * @return constructor arguments in parameter order
+     */
+    private Object[] resolveArguments(InjectionPlan plan) {
+        var parameterTypes = plan.getParameterTypes();
+        var lazyTargets = plan.getLazyTargets();
+        var arguments = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (lazyTargets[i] != null) {
+                arguments[i] = new LazySingleton<>(this, lazyTargets[i]);
+            } else if (!parameterTypes[i].isAnnotationPresent(Prototype.class)) {
+                arguments[i] = lookup(parameterTypes[i]);
+            } else if (!plan.isBindable()) {
+                arguments[i] = getOrCreateInjectableTypes(parameterTypes[i]);
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * Helper method to create the factories of the {@link Prototype} parameters of a plan, which create a new instance
+     * through this container whenever the bound handle is invoked.
+     *
+     * @param plan resolved plan of the class to instantiate
+     * @return factory handles of type {@code ()Object} in parameter order, with null for other parameters
+     */
+    private MethodHandle[] prototypeFactories(InjectionPlan plan) {
+        var parameterTypes = plan.getParameterTypes();
+        var lazyTargets = plan.getLazyTargets();
+        var factories = new MethodHandle[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (lazyTargets[i] == null && parameterTypes[i].isAnnotationPresent(Prototype.class)) {
+                factories[i] = MethodHandles.insertArguments(GET_OR_CREATE, 0, this, parameterTypes[i]);
+            }
+        }
+        return factories;
+    }
+
+    /**
+     * Fallback for classes whose constructor cannot be bound to a method handle. Exceptions thrown by the constructor
+     * are unwrapped from their {@link InvocationTargetException}, so that they are reported like those of bound
+     * constructors.
+     *
+     * @param plan      resolved plan of the class to instantiate
+     * @param arguments constructor arguments in parameter order
+     * @return instance, that was created using the planned constructor
+     */
+    private Object instantiateReflectively(InjectionPlan plan, Object[] arguments) {
         Object instance;
         try {
-            instance = constructor.newInstance(Arrays.stream(constructor.getParameterTypes()).map(injectableObjects::get).toArray());
+            instance = plan.getConstructor().newInstance(arguments);
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException(constructor.getDeclaringClass().getName() + " cannot be instantiated.", e);
+            throw instantiationFailure(plan, Objects.requireNonNullElse(e.getCause(), e));
         }
         return instance;
     }
+
+    /**
+     * Helper method to report a failed instantiation. Unchecked exceptions and errors are propagated unchanged,
+     * checked exceptions are wrapped.
+     *
+     * @param plan  resolved plan of the class that failed to instantiate
+     * @param cause the exception thrown while instantiating the class
+     * @return the unchecked exception to throw
+     */
+    private static RuntimeException instantiationFailure(InjectionPlan plan, Throwable cause) {
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return cause instanceof RuntimeException exception ? exception : new RuntimeException(plan.getType().getName() + " cannot be instantiated.", cause);
+    }
+
+    /**
+     * A factory handle with its singleton arguments bound.
+     *
+     * @param factory    the bound factory handle of type {@code ()Object}
+     * @param generation the registry generation the bound arguments were resolved in
+     */
+    private record BoundConstructor(MethodHandle factory, long generation) {
+    }
 }
@@ -0,0 +1,372 @@
+package com.cerocss.fxdi;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Snapshot of the dependency graph of a set of root classes, annotated with construction times, that can be exported in
+ * DOT or JSON format. Edges point from the dependent class to the class of its constructor parameter. The critical path
+ * is the chain of constructor dependencies with the longest total construction time ending in a root class, which is
+ * the lower bound of the time required to create that root even if singletons are created in parallel. {@link Lazy}
+ * parameters are part of the graph, but not of the critical path, as they are created on demand.
+ */
+public final class DependencyGraph {
+
+    /**
+     * All classes of the graph in discovery order, starting with the roots.
+     */
+    private final List<Node> nodes;
+
+    /**
+     * All constructor parameters of the graph.
+     */
+    private final List<Edge> edges;
+
+    /**
+     * The classes of the critical path, from the first class to construct to the root.
+     */
+    private final List<Class<?>> criticalPath;
+
+    /**
+     * Total construction time of the critical path in nanoseconds.
+     */
+    private final long criticalPathNanos;
+
+    /**
+     * A class of the dependency graph.
+     */
+    public static final class Node {
+
+        private final Class<?> type;
+        private final long constructionNanos;
+        private final boolean registered;
+        private boolean critical;
+
+        private Node(Class<?> type, long constructionNanos, boolean registered) {
+            this.type = type;
+            this.constructionNanos = constructionNanos;
+            this.registered = registered;
+        }
+
+        /**
+         * @return the class of this node
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * @return the recorded construction time in nanoseconds, or 0 if none was recorded
+         */
+        public long getConstructionNanos() {
+            return constructionNanos;
+        }
+
+        /**
+         * @return true if the instance was registered manually instead of being constructed by the container
+         */
+        public boolean isRegistered() {
+            return registered;
+        }
+
+        /**
+         * @return true if this class is part of the critical path
+         */
+        public boolean isCritical() {
+            return critical;
+        }
+    }
+
+    /**
+     * A constructor parameter of the dependency graph.
+     */
+    public static final class Edge {
+
+        private final Class<?> dependent;
+        private final Class<?> dependency;
+        private final int parameterIndex;
+        private final String parameterName;
+        private final boolean lazy;
+        private boolean critical;
+
+        private Edge(Class<?> dependent, Class<?> dependency, int parameterIndex, String parameterName, boolean lazy) {
+            this.dependent = dependent;
+            this.dependency = dependency;
+            this.parameterIndex = parameterIndex;
+            this.parameterName = parameterName;
+            this.lazy = lazy;
+        }
+
+        /**
+         * @return the class declaring the constructor parameter
+         */
+        public Class<?> getDependent() {
+            return dependent;
+        }
+
+        /**
+         * @return the injected class, which is the referenced class for {@link Lazy} parameters
+         */
+        public Class<?> getDependency() {
+            return dependency;
+        }
+
+        /**
+         * @return the position of the constructor parameter
+         */
+        public int getParameterIndex() {
+            return parameterIndex;
+        }
+
+        /**
+         * @return the name of the constructor parameter, which is {@code argN} if the class was compiled without
+         * parameter names
+         */
+        public String getParameterName() {
+            return parameterName;
+        }
+
+        /**
+         * @return true if the parameter is a {@link Lazy} reference
+         */
+        public boolean isLazy() {
+            return lazy;
+        }
+
+        /**
+         * @return true if this parameter is part of the critical path
+         */
+        public boolean isCritical() {
+            return critical;
+        }
+    }
+
+    /**
+     * Build the graph of the given roots.
+     *
+     * @param roots             the classes whose dependency trees are part of the graph
+     * @param registered        check whether an instance of a class was registered manually, which makes it a leaf
+     * @param constructionNanos construction times in nanoseconds associated with their class
+     */
+    DependencyGraph(Collection<Class<?>> roots, Predicate<Class<?>> registered, Map<Class<?>, Long> constructionNanos) {
+        var nodesByType = new LinkedHashMap<Class<?>, Node>();
+        var edgesByType = new HashMap<Class<?>, List<Edge>>();
+        var edgeList = new ArrayList<Edge>();
+
+        var pending = new ArrayDeque<Class<?>>(roots);
+        while (!pending.isEmpty()) {
+            var type = pending.poll();
+            if (nodesByType.containsKey(type)) {
+                continue;
+            }
+            var isRegistered = registered.test(type);
+            nodesByType.put(type, new Node(type, constructionNanos.getOrDefault(type, 0L), isRegistered));
+            if (isRegistered) {
+                continue;
+            }
+
+            var plan = InjectionPlan.of(type);
+            var parameterTypes = plan.getParameterTypes();
+            var lazyTargets = plan.getLazyTargets();
+            var parameters = plan.getConstructor() == null ? null : plan.getConstructor().getParameters();
+            var typeEdges = new ArrayList<Edge>(parameterTypes.length);
+            for (int i = 0; i < parameterTypes.length; i++) {
+                var lazy = lazyTargets[i] != null;
+                var dependency = lazy ? lazyTargets[i] : parameterTypes[i];
+                var name = parameters != null && parameters[i].isNamePresent() ? parameters[i].getName() : "arg" + i;
+                typeEdges.add(new Edge(type, dependency, i, name, lazy));
+                pending.add(dependency);
+            }
+            edgesByType.put(type, typeEdges);
+            edgeList.addAll(typeEdges);
+        }
+
+        this.nodes = List.copyOf(nodesByType.values());
+        this.edges = List.copyOf(edgeList);
+
+        var longestPaths = longestPaths(nodesByType, edgesByType);
+        Class<?> end = null;
+        long endNanos = -1;
+        for (var root : roots) {
+            var nanos = longestPaths.get(root);
+            if (nanos != null && nanos > endNanos) {
+                end = root;
+                endNanos = nanos;
+            }
+        }
+
+        var path = new ArrayList<Class<?>>();
+        for (var type = end; type != null; ) {
+            path.addFirst(type);
+            nodesByType.get(type).critical = true;
+            Edge next = null;
+            for (var edge : edgesByType.getOrDefault(type, List.of())) {
+                if (!edge.lazy && (next == null || longestPaths.get(edge.dependency) > longestPaths.get(next.dependency))) {
+                    next = edge;
+                }
+            }
+            if (next != null) {
+                next.critical = true;
+            }
+            type = next == null ? null : next.dependency;
+        }
+        this.criticalPath = List.copyOf(path);
+        this.criticalPathNanos = Math.max(endNanos, 0);
+    }
+
+    /**
+     * Helper method to calculate the longest chain of construction time ending in every class, following the
+     * dependencies that are not lazy in post order without recursion.
+     *
+     * @param nodesByType all nodes associated with their class
+     * @param edgesByType the constructor parameters associated with their declaring class
+     * @return the longest construction time in nanoseconds of a chain ending in the respective class
+     */
+    private static Map<Class<?>, Long> longestPaths(Map<Class<?>, Node> nodesByType, Map<Class<?>, List<Edge>> edgesByType) {
+        var longestPaths = new HashMap<Class<?>, Long>();
+        var started = new HashSet<Class<?>>();
+        var pending = new ArrayDeque<Class<?>>();
+        for (var start : nodesByType.keySet()) {
+            pending.push(start);
+            while (!pending.isEmpty()) {
+                var type = pending.peek();
+                if (longestPaths.containsKey(type)) {
+                    pending.pop();
+                    continue;
+                }
+                var typeEdges = edgesByType.getOrDefault(type, List.of());
+                if (started.add(type)) {
+                    for (var edge : typeEdges) {
+                        if (!edge.lazy && !started.contains(edge.dependency)) {
+                            pending.push(edge.dependency);
+                        }
+                    }
+                    continue;
+                }
+
+                pending.pop();
+                long longest = 0;
+                for (var edge : typeEdges) {
+                    if (!edge.lazy) {
+                        longest = Math.max(longest, longestPaths.getOrDefault(edge.dependency, 0L));
+                    }
+                }
+                longestPaths.put(type, longest + nodesByType.get(type).constructionNanos);
+            }
+        }
+        return longestPaths;
+    }
+
+    /**
+     * @return all classes of the graph in discovery order, starting with the roots
+     */
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return all constructor parameters of the graph
+     */
+    public List<Edge> getEdges() {
+        return edges;
+    }
+
+    /**
+     * @return the classes of the critical path, from the first class to construct to the root
+     */
+    public List<Class<?>> getCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * @return the total construction time of the critical path in nanoseconds
+     */
+    public long getCriticalPathNanos() {
+        return criticalPathNanos;
+    }
+
+    /**
+     * Export the graph in the DOT format of Graphviz. Nodes are labeled with their construction time, edges with their
+     * parameter name. The critical path is colored red, lazy parameters are dashed and registered instances are boxes.
+     *
+     * @return the graph in DOT format
+     */
+    public String toDot() {
+        var dot = new StringBuilder("digraph dependencies {\n");
+        for (var node : nodes) {
+            dot.append("    \"").append(node.type.getName()).append("\" [label=\"").append(node.type.getSimpleName())
+                    .append("\\n").append(formatMillis(node.constructionNanos)).append('"');
+            if (node.registered) {
+                dot.append(", shape=box");
+            }
+            if (node.critical) {
+                dot.append(", color=red");
+            }
+            dot.append("];\n");
+        }
+        for (var edge : edges) {
+            dot.append("    \"").append(edge.dependent.getName()).append("\" -> \"").append(edge.dependency.getName())
+                    .append("\" [label=\"").append(edge.parameterName).append('"');
+            if (edge.lazy) {
+                dot.append(", style=dashed");
+            }
+            if (edge.critical) {
+                dot.append(", color=red");
+            }
+            dot.append("];\n");
+        }
+        return dot.append("}\n").toString();
+    }
+
+    /**
+     * Export the graph as JSON object with the arrays {@code nodes}, {@code edges} and {@code criticalPath} and the
+     * total construction time of the critical path in {@code criticalPathNanos}.
+     *
+     * @return the graph in JSON format
+     */
+    public String toJson() {
+        var json = new StringBuilder("{\n  \"nodes\": [");
+        for (int i = 0; i < nodes.size(); i++) {
+            var node = nodes.get(i);
+            json.append(i == 0 ? "\n" : ",\n").append("    {\"type\": ").append(quote(node.type.getName()))
+                    .append(", \"constructionNanos\": ").append(node.constructionNanos)
+                    .append(", \"registered\": ").append(node.registered)
+                    .append(", \"critical\": ").append(node.critical).append('}');
+        }
+        json.append("\n  ],\n  \"edges\": [");
+        for (int i = 0; i < edges.size(); i++) {
+            var edge = edges.get(i);
+            json.append(i == 0 ? "\n" : ",\n").append("    {\"from\": ").append(quote(edge.dependent.getName()))
+                    .append(", \"to\": ").append(quote(edge.dependency.getName()))
+                    .append(", \"parameterIndex\": ").append(edge.parameterIndex)
+                    .append(", \"parameterName\": ").append(quote(edge.parameterName))
+                    .append(", \"lazy\": ").append(edge.lazy)
+                    .append(", \"critical\": ").append(edge.critical).append('}');
+        }
+        json.append("\n  ],\n  \"criticalPath\": [");
+        for (int i = 0; i < criticalPath.size(); i++) {
+            json.append(i == 0 ? "" : ", ").append(quote(criticalPath.get(i).getName()));
+        }
+        return json.append("],\n  \"criticalPathNanos\": ").append(criticalPathNanos).append("\n}\n").toString();
+    }
+
+    /**
+     * Helper method to format nanoseconds as milliseconds.
+     *
+     * @param nanos the time in nanoseconds
+     * @return the time in milliseconds with three decimal places
+     */
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f ms", nanos / 1_000_000d);
+    }
+
+    /**
+     * Helper method to quote a JSON string.
+     *
+     * @param value the value to quote
+     * @return the quoted and escaped value
+     */
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -0,0 +1,13 @@
+package com.cerocss.fxdi;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks public methods without parameters that release the resources of a singleton. They are called when the
+ * {@link DependencyContainer} that created the singleton is closed or the singleton is evicted.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Dispose {
+}
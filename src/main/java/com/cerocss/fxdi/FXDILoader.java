@@ -1,37 +1,77 @@
 package com.cerocss.fxdi;
 
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
+import javafx.fxml.JavaFXBuilderFactory;
+import javafx.util.BuilderFactory;
 
 import java.io.IOException;
 import java.net.URL;
-import java.util.Locale;
-import java.util.ResourceBundle;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 
 /**
  * A custom FXMLLoader with dependency injection functionalities. Should be used as a replacement to FXMLLoader. It
  * uses JavaFX custom controller callbacks to delegate controller construction to the {@link InjectionFactory}. It also
  * provides the used {@link DependencyContainer} registering itself and the container as singletons.
  */
-public class FXDILoader {
+public class FXDILoader implements AutoCloseable {
 
     /**
-     * The injection factory that is used for controller construction.
+     * Maximum amount of resource bundles that are cached across all {@link FXDILoader} instances.
      */
-    private final InjectionFactory injectionFactory;
+    private static final int MAXIMUM_CACHED_LANGUAGES = 8;
+
+    /**
+     * Resource bundles shared by all {@link FXDILoader} instances, associated with their locale in access order.
+     */
+    private static final Map<Locale, ResourceBundle> RESOURCE_BUNDLES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Locale, ResourceBundle> eldest) {
+            return size() > MAXIMUM_CACHED_LANGUAGES;
+        }
+    };
 
     /**
      * The dependency container instance that is used for this specific {@link FXDILoader}.
      */
     private final DependencyContainer dependencyContainer;
 
-    private ResourceBundle resourceBundle;
+    private volatile ResourceBundle resourceBundle;
+
+    /**
+     * Translated texts of the views loaded while translation tracking was enabled.
+     */
+    private final TranslatedViews translatedViews = new TranslatedViews();
+
+    /**
+     * Released views that are reused by {@link #acquire(URL)}.
+     */
+    private final ViewPool viewPool = new ViewPool();
+
+    /**
+     * Whether translated texts of loaded views are tracked to be able to switch their language.
+     */
+    private volatile boolean translationTracking;
 
     /**
      * Constructs a new {@link FXDILoader}.
      */
     public FXDILoader() {
-        dependencyContainer = new DependencyContainer();
-        injectionFactory = new InjectionFactory(dependencyContainer);
+        this(new DependencyContainer());
+    }
+
+    /**
+     * Constructs a new {@link FXDILoader} using the given container, registering itself and the container as singletons.
+     *
+     * @param dependencyContainer the container to create controllers with
+     */
+    private FXDILoader(DependencyContainer dependencyContainer) {
+        this.dependencyContainer = dependencyContainer;
         dependencyContainer.registerSingletonManually(dependencyContainer);
         dependencyContainer.registerSingletonManually(this);
     }
@@ -42,38 +82,360 @@ public class FXDILoader {
      * @param locale the locale to use for translation
      */
     public FXDILoader(Locale locale) {
-        dependencyContainer = new DependencyContainer();
-        injectionFactory = new InjectionFactory(dependencyContainer);
-        dependencyContainer.registerSingletonManually(dependencyContainer);
-        dependencyContainer.registerSingletonManually(this);
+        this();
         loadLanguage(locale);
     }
 
     /**
      * {@link FXMLLoader} equivalent to load fxml files using the dependency injection. Internally this uses the
      * functionality of the {@link FXMLLoader}, by constructing a new {@link FXMLLoader} every time this method is
-     * called, injecting the same injection factory for every instance to share singletons across loading multiple fxml files.
+     * called. Every load uses a new injection factory of the same container, so that singletons are shared across
+     * loading multiple fxml files, while {@link ViewScoped} instances are shared by the controllers of a single view.
      *
      * @param url the url of the fxml file to load
      * @param <T> type of fxml parent to return
      * @return the loaded fxml parent
      */
     public <T> T load(URL url) {
+        return this.<T>loadView(url).getRoot();
+    }
+
+    /**
+     * Helper method to load a fxml file, reporting the load time to the injection listener if one is registered.
+     *
+     * @param url the url of the fxml file to load
+     * @param <T> type of fxml parent to return
+     * @return the loaded view
+     */
+    private <T> LoadedView<T> loadView(URL url) {
+        var listener = dependencyContainer.getInjectionListener();
+        if (listener == null) {
+            return loadTranslated(url);
+        }
+
+        var start = System.nanoTime();
+        LoadedView<T> view = loadTranslated(url);
+        var nanos = System.nanoTime() - start;
+        listener.onViewLoaded(view);
+        listener.onLoaded(url, nanos);
+        return view;
+    }
+
+    /**
+     * Helper method to load a fxml file with the current resource bundle, tracking its translated texts if enabled.
+     *
+     * @param url the url of the fxml file to load
+     * @param <T> type of fxml parent to return
+     * @return the loaded view
+     */
+    private <T> LoadedView<T> loadTranslated(URL url) {
+        var bundle = resourceBundle;
+        if (!translationTracking || bundle == null) {
+            return load(url, bundle, bundle);
+        }
+
+        var recorder = new TranslationRecorder(bundle);
+        LoadedView<T> view = load(url, bundle, recorder);
+        translatedViews.track(view.getRoot(), recorder.getRecordedTranslations());
+        return view;
+    }
+
+    /**
+     * Helper method to load a fxml file with the given resource bundle. Files compiled at build time are constructed by
+     * their {@link CompiledView}, other files are parsed by a {@link FXMLLoader}, which reports its element classes to
+     * the injection listener if one is registered. The controllers of every load share a view scope, which is only
+     * created if one of them depends on {@link ViewScoped} classes.
+     *
+     * @param url          the url of the fxml file to load
+     * @param bundle       the resource bundle of the current language, which the view is tagged with
+     * @param translations the resource bundle to translate the fxml file with
+     * @param <T>          type of fxml parent to return
+     * @return the loaded view
+     */
+    @SuppressWarnings("unchecked")
+    private <T> LoadedView<T> load(URL url, ResourceBundle bundle, ResourceBundle translations) {
+        var compiledView = CompiledViews.find(url);
+        if (compiledView != null) {
+            var controller = compiledView.createController(new InjectionFactory(dependencyContainer)::call);
+            return new LoadedView<>(url, (T) compiledView.createRoot(controller, url, translations), controller, bundle);
+        }
+
         try {
-            return new FXMLLoader(url, resourceBundle, null, injectionFactory).load();
+            var listener = dependencyContainer.getInjectionListener();
+            var fxmlLoader = new FXMLLoader(url, translations, listener == null ? null : recordingBuilderFactory(listener),
+                    new InjectionFactory(dependencyContainer));
+            T root = fxmlLoader.load();
+            return new LoadedView<>(url, root, fxmlLoader.getController(), bundle);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
     /**
-     * Create {@link FXMLLoader} instance that is used to load files.
+     * Helper method to create a builder factory reporting every element class of a loaded fxml file to a listener. The
+     * builders are created by a new default factory, as it is not thread safe.
+     *
+     * @param listener the listener to report the element classes to
+     * @return the builder factory
+     */
+    private static BuilderFactory recordingBuilderFactory(InjectionListener listener) {
+        var builders = new JavaFXBuilderFactory();
+        return type -> {
+            listener.onViewElement(type);
+            return builders.getBuilder(type);
+        };
+    }
+
+    /**
+     * Create a loader for a window or tab, that uses a child of the dependency container of this loader. Controllers
+     * loaded by the child loader share the {@link Singleton} instances of this loader, but get their own {@link Scoped}
+     * instances, which are dropped at once by {@link #close()}. The child loader and its container are injected instead
+     * of this loader and its container. The child uses the current language of this loader.
+     *
+     * @return the new child loader
+     * @see DependencyContainer#createChild()
+     */
+    public FXDILoader createChild() {
+        var child = new FXDILoader(dependencyContainer.createChild());
+        child.resourceBundle = resourceBundle;
+        child.translationTracking = translationTracking;
+        return child;
+    }
+
+    /**
+     * Dispose the singletons created by the dependency container of this loader and drop them. The loader and its
+     * container are registered manually and stay registered, so the loader can still be used afterwards.
+     *
+     * @see DependencyContainer#close()
+     */
+    @Override
+    public void close() {
+        dependencyContainer.close();
+    }
+
+    /**
+     * Load a fxml file in the background, so that parsing, controller creation including the injection of singletons
+     * and the construction of the node tree do not block the JavaFX Application Thread. The returned future completes
+     * on the JavaFX Application Thread, where the loaded parent can be attached to a scene right away. Node types that
+     * have to be created on the JavaFX Application Thread cannot be loaded this way.
+     *
+     * @param url      the url of the fxml file to load
+     * @param executor executor to load the fxml file on
+     * @param <T>      type of fxml parent to return
+     * @return future of the loaded fxml parent, completed on the JavaFX Application Thread
+     */
+    public <T> CompletableFuture<T> loadAsync(URL url, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> this.<T>load(url), executor).handleAsync((root, error) -> {
+            if (error != null) {
+                throw error instanceof CompletionException completionException ? completionException : new CompletionException(error);
+            }
+            return root;
+        }, Platform::runLater);
+    }
+
+    /**
+     * Load a fxml file on the common pool.
+     *
+     * @param url the url of the fxml file to load
+     * @param <T> type of fxml parent to return
+     * @return future of the loaded fxml parent, completed on the JavaFX Application Thread
+     * @see #loadAsync(URL, Executor)
+     */
+    public <T> CompletableFuture<T> loadAsync(URL url) {
+        return loadAsync(url, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Load multiple fxml files in parallel, e.g. the separate parts of a main window, and wait until all of them are
+     * loaded. Each file is read, parsed and constructed on its own task of the executor, while singletons required by
+     * multiple controllers are still created only once by the shared {@link DependencyContainer}. Node types that have
+     * to be created on the JavaFX Application Thread cannot be loaded this way.
+     *
+     * @param urls     the urls of the fxml files to load
+     * @param executor executor to load the fxml files on
+     * @param <T>      type of fxml parents to return
+     * @return the loaded fxml parents in the order of their urls
+     * @throws RuntimeException the failure of the first file that cannot be loaded
+     */
+    public <T> List<T> loadAll(List<URL> urls, Executor executor) {
+        try {
+            return this.<T>loadAllInBackground(urls, executor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Load multiple fxml files in parallel without blocking the calling thread. The returned future completes on the
+     * JavaFX Application Thread once all files are loaded.
+     *
+     * @param urls     the urls of the fxml files to load
+     * @param executor executor to load the fxml files on
+     * @param <T>      type of fxml parents to return
+     * @return future of the loaded fxml parents in the order of their urls, completed on the JavaFX Application Thread
+     * @see #loadAll(List, Executor)
+     */
+    public <T> CompletableFuture<List<T>> loadAllAsync(List<URL> urls, Executor executor) {
+        return this.<T>loadAllInBackground(urls, executor).handleAsync((roots, error) -> {
+            if (error != null) {
+                throw error instanceof CompletionException completionException ? completionException : new CompletionException(error);
+            }
+            return roots;
+        }, Platform::runLater);
+    }
+
+    /**
+     * Load multiple fxml files in parallel on the common pool.
+     *
+     * @param urls the urls of the fxml files to load
+     * @param <T>  type of fxml parents to return
+     * @return future of the loaded fxml parents in the order of their urls, completed on the JavaFX Application Thread
+     * @see #loadAllAsync(List, Executor)
+     */
+    public <T> CompletableFuture<List<T>> loadAllAsync(List<URL> urls) {
+        return loadAllAsync(urls, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Helper method to load every fxml file on its own task.
+     *
+     * @param urls     the urls of the fxml files to load
+     * @param executor executor to load the fxml files on
+     * @param <T>      type of fxml parents to return
+     * @return future of the loaded fxml parents in the order of their urls
+     */
+    private <T> CompletableFuture<List<T>> loadAllInBackground(List<URL> urls, Executor executor) {
+        var futures = new ArrayList<CompletableFuture<T>>(urls.size());
+        for (var url : urls) {
+            futures.add(CompletableFuture.supplyAsync(() -> this.<T>load(url), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Limit the amount of released views of a fxml file that are kept for reuse. Pooling avoids loading views that are
+     * created and discarded constantly, e.g. list or table cells. Pooled views are dropped when a new language is
+     * loaded.
+     *
+     * @param url         the url of the fxml file
+     * @param maximumSize the maximum amount of pooled views, or 0 to disable pooling of the file
+     * @see #acquire(URL)
+     */
+    public void setPoolSize(URL url, int maximumSize) {
+        viewPool.setMaximumSize(url, maximumSize);
+    }
+
+    /**
+     * Take a released view of a fxml file out of its pool, or load a new one if the pool is empty. The view has to be
+     * returned with {@link #release(LoadedView)} once it is not displayed anymore.
+     *
+     * @param url the url of the fxml file to load
+     * @param <T> type of fxml parent
+     * @return a pooled or newly loaded view
+     */
+    public <T> LoadedView<T> acquire(URL url) {
+        LoadedView<T> view = viewPool.poll(url);
+        return view != null ? view : loadView(url);
+    }
+
+    /**
+     * Return a view that is not displayed anymore to the pool of its fxml file. The controller is reset if it is
+     * {@link Resettable}. Views exceeding the pool size, views that are pooled already and views translated with
+     * another language than the current one are discarded.
+     *
+     * @param view the view acquired with {@link #acquire(URL)}
+     */
+    public void release(LoadedView<?> view) {
+        if (view.getResourceBundle() != resourceBundle || viewPool.missing(view.getUrl()) <= 0 || viewPool.contains(view)) {
+            return;
+        }
+        if (view.getController() instanceof Resettable resettable) {
+            resettable.reset();
+        }
+        viewPool.offer(view);
+    }
+
+    /**
+     * Fill the pool of a fxml file up to its maximum size in the background, so that acquiring views while scrolling
+     * does not have to load them. Node types that have to be created on the JavaFX Application Thread cannot be pooled
+     * this way.
+     *
+     * @param url      the url of the fxml file
+     * @param executor executor to load the views on
+     * @return future that completes once the pool is full
+     * @see #setPoolSize(URL, int)
+     */
+    public CompletableFuture<Void> prefillPool(URL url, Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            while (viewPool.missing(url) > 0) {
+                LoadedView<?> view = loadView(url);
+                if (view.getResourceBundle() != resourceBundle || !viewPool.offer(view)) {
+                    return;
+                }
+            }
+        }, executor);
+    }
+
+    /**
+     * Create {@link FXMLLoader} instance that is used to load files. The controllers created by the instance share a
+     * view scope, which is only created if one of them depends on {@link ViewScoped} classes.
      *
      * @param url the url of the fxml file to load
      * @return the preconfigured {@link FXMLLoader}
      */
     public FXMLLoader getFXMLLoaderInstance(URL url) {
-        return new FXMLLoader(url, resourceBundle, null, injectionFactory);
+        return new FXMLLoader(url, resourceBundle, null, new InjectionFactory(dependencyContainer));
+    }
+
+    /**
+     * Create all singletons required by the given controllers in the background, so that loading the fxml files of
+     * these controllers later on does not stall the JavaFX Application Thread. Intended to be run while a splash screen
+     * is shown.
+     *
+     * @param controllers controller classes whose singletons should be created
+     * @param executor    executor to create the singletons on
+     * @param progress    callback receiving the number of created and the total number of singletons, called on the
+     *                    JavaFX Application Thread
+     * @return future that completes once all singletons are created
+     * @see DependencyContainer#warmUp(Collection, Executor, BiConsumer)
+     */
+    public CompletableFuture<Void> warmUp(Collection<Class<?>> controllers, Executor executor, BiConsumer<Integer, Integer> progress) {
+        return dependencyContainer.warmUp(controllers, executor,
+                (created, total) -> Platform.runLater(() -> progress.accept(created, total)));
+    }
+
+    /**
+     * Create all singletons required by the given controllers on the common pool.
+     *
+     * @param controllers controller classes whose singletons should be created
+     * @param progress    callback receiving the number of created and the total number of singletons, called on the
+     *                    JavaFX Application Thread
+     * @return future that completes once all singletons are created
+     * @see #warmUp(Collection, Executor, BiConsumer)
+     */
+    public CompletableFuture<Void> warmUp(Collection<Class<?>> controllers, BiConsumer<Integer, Integer> progress) {
+        return warmUp(controllers, ForkJoinPool.commonPool(), progress);
+    }
+
+    /**
+     * Await the initialization of all singletons required by the given controllers without blocking the JavaFX
+     * Application Thread, e.g. to show a placeholder until the caches of a view are loaded.
+     *
+     * @param controllers controller classes whose singletons should be initialized
+     * @return future that completes on the JavaFX Application Thread once all singletons are initialized
+     * @see DependencyContainer#whenReady(Collection)
+     */
+    public CompletableFuture<Void> whenReady(Collection<Class<?>> controllers) {
+        return dependencyContainer.whenReady(controllers).handleAsync((result, error) -> {
+            if (error != null) {
+                throw error instanceof CompletionException completionException ? completionException : new CompletionException(error);
+            }
+            return result;
+        }, Platform::runLater);
     }
 
     /**
@@ -82,7 +444,66 @@ public class FXDILoader {
      * @param locale the locale to use for translations
      */
     public final void loadLanguage(Locale locale) {
-        resourceBundle = ResourceBundle.getBundle("messages", locale);
+        resourceBundle = getResourceBundle(locale);
+        viewPool.clear();
+    }
+
+    /**
+     * Load a new language and apply it to the views that were loaded while translation tracking was enabled, without
+     * loading their fxml files again. Has to be called on the JavaFX Application Thread if the views are shown.
+     *
+     * @param locale the locale to use for translations
+     * @see #setTranslationTracking(boolean)
+     */
+    public void switchLanguage(Locale locale) {
+        loadLanguage(locale);
+        var bundle = resourceBundle;
+        if (bundle != null) {
+            translatedViews.apply(bundle);
+        }
+    }
+
+    /**
+     * Enable tracking of the translated texts of views loaded through {@link #load(URL)}, so that their language can be
+     * switched with {@link #switchLanguage(Locale)}. The text properties of all nodes in the loaded scene graph, that
+     * contain a translation, are tracked, including the contents of controls that are not skinned yet, tabs, menu
+     * items, tooltips, context menus and graphics. Texts of other objects that are not part of the scene graph, e.g.
+     * the items of lists and tables or objects only referenced by custom properties, are not tracked. Tracked views are
+     * only referenced weakly.
+     *
+     * @param enabled whether translated texts should be tracked for subsequently loaded views
+     */
+    public void setTranslationTracking(boolean enabled) {
+        translationTracking = enabled;
+    }
+
+    /**
+     * Load the resource bundles of the given locales into the resource bundle cache shared by all {@link FXDILoader}
+     * instances, so that switching to these languages does not have to read the bundles.
+     *
+     * @param locales the locales to preload
+     */
+    public static void preloadLanguages(Locale... locales) {
+        for (var locale : locales) {
+            getResourceBundle(locale);
+        }
+    }
+
+    /**
+     * Helper method to get the resource bundle of a locale from the shared cache, loading it if necessary.
+     *
+     * @param locale the locale of the resource bundle
+     * @return the resource bundle of the locale
+     */
+    private static ResourceBundle getResourceBundle(Locale locale) {
+        synchronized (RESOURCE_BUNDLES) {
+            var bundle = RESOURCE_BUNDLES.get(locale);
+            if (bundle == null) {
+                bundle = ResourceBundle.getBundle("messages", locale);
+                RESOURCE_BUNDLES.put(locale, bundle);
+            }
+            return bundle;
+        }
     }
 
     /**
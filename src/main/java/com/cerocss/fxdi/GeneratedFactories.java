@@ -0,0 +1,43 @@
+package com.cerocss.fxdi;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Index of the {@link InjectableFactory} services generated by the annotation processor. The services are loaded once,
+ * on the first resolution of an {@link InjectionPlan}.
+ */
+final class GeneratedFactories {
+
+    /**
+     * Registered factories associated with the class they create.
+     */
+    private static final Map<Class<?>, InjectableFactory<?>> FACTORIES = load();
+
+    private GeneratedFactories() {
+    }
+
+    /**
+     * Helper method to load all registered factory services.
+     *
+     * @return registered factories associated with the class they create
+     */
+    private static Map<Class<?>, InjectableFactory<?>> load() {
+        var factories = new HashMap<Class<?>, InjectableFactory<?>>();
+        for (var factory : ServiceLoader.load(InjectableFactory.class)) {
+            factories.put(factory.type(), factory);
+        }
+        return Map.copyOf(factories);
+    }
+
+    /**
+     * Look up the generated factory of a class.
+     *
+     * @param type type to find the factory for
+     * @return the generated factory or null if the class was not processed at compile time
+     */
+    static InjectableFactory<?> find(Class<?> type) {
+        return FACTORIES.get(type);
+    }
+}
@@ -0,0 +1,19 @@
+package com.cerocss.fxdi;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks public methods without parameters that initialize a singleton, e.g. by loading caches or reading files. They
+ * are started once the {@link DependencyContainer} constructed the singleton and all singletons it depends on are
+ * initialized, so that slow initializations do not block the requesting thread. Methods returning a
+ * {@link java.util.concurrent.CompletionStage} are called directly and are expected to complete the stage once the
+ * initialization is done. Other methods are run on the initialization executor of the container, which defaults to a
+ * cached pool of daemon threads. The initializations of independent singletons run concurrently, and
+ * {@link DependencyContainer#whenReady(java.util.Collection)} completes once all singletons of a dependency tree are
+ * initialized. Methods of classes that are created for every injection or request are not called.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Initialize {
+}
@@ -0,0 +1,37 @@
+package com.cerocss.fxdi;
+
+/**
+ * Reflection-free factory of an injectable class. Implementations are generated at compile time by the fxdi annotation
+ * processor and registered as services under {@code META-INF/services/com.cerocss.fxdi.InjectableFactory}. The
+ * {@link DependencyContainer} prefers a registered factory over the reflective constructor discovery.
+ *
+ * @param <T> type of the created instances
+ */
+public interface InjectableFactory<T> {
+
+    /**
+     * @return the class that is created by this factory
+     */
+    Class<T> type();
+
+    /**
+     * @return the classes of the constructor arguments in parameter order
+     */
+    Class<?>[] dependencies();
+
+    /**
+     * @return the referenced singleton classes of {@link Lazy} constructor arguments in parameter order, with null for
+     * arguments that are not lazy
+     */
+    default Class<?>[] lazyDependencies() {
+        return new Class<?>[dependencies().length];
+    }
+
+    /**
+     * Create a new instance of the class.
+     *
+     * @param arguments constructor arguments matching {@link #dependencies()}
+     * @return the created instance
+     */
+    T create(Object... arguments);
+}
@@ -0,0 +1,74 @@
+package com.cerocss.fxdi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Index of the injectable classes listed by the annotation processor at compile time. The index resources of all
+ * modules on the classpath are read once, on first use, so that no classpath scanning is required.
+ */
+final class InjectableIndex {
+
+    /**
+     * Resource listing the binary names of injectable classes, one per line.
+     */
+    static final String RESOURCE = "META-INF/fxdi/injectables";
+
+    /**
+     * Lazily loaded index, so that applications not using it do not read the resources.
+     */
+    private static final class Holder {
+
+        /**
+         * Indexed classes in resource order without duplicates.
+         */
+        private static final List<Class<?>> TYPES = load();
+    }
+
+    private InjectableIndex() {
+    }
+
+    /**
+     * Helper method to read all index resources.
+     *
+     * @return the indexed classes in resource order without duplicates
+     */
+    private static List<Class<?>> load() {
+        var classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = InjectableIndex.class.getClassLoader();
+        }
+
+        var types = new LinkedHashSet<Class<?>>();
+        try {
+            var resources = classLoader.getResources(RESOURCE);
+            while (resources.hasMoreElements()) {
+                try (var reader = new BufferedReader(new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        var name = line.trim();
+                        if (!name.isEmpty()) {
+                            types.add(Class.forName(name, false, classLoader));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("The injectable index cannot be read.", e);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e.getMessage() + " is listed in the injectable index but cannot be loaded.", e);
+        }
+        return List.copyOf(types);
+    }
+
+    /**
+     * @return all indexed classes, which must not be modified
+     */
+    static List<Class<?>> types() {
+        return Holder.TYPES;
+    }
+}
@@ -3,7 +3,8 @@ package com.cerocss.fxdi;
 import javafx.util.Callback;
 
 /**
- * The factory that is responsible for delegating controller creation to the dependency container.
+ * The factory that is responsible for delegating controller creation to the dependency container. A factory is used
+ * for the controllers of a single view, which share the {@link ViewScoped} instances of the view.
  */
 class InjectionFactory implements Callback<Class<?>, Object> {
 
@@ -12,6 +13,12 @@ class InjectionFactory implements Callback<Class<?>, Object> {
      */
     private final DependencyContainer dependencyContainer;
 
+    /**
+     * The container holding the {@link ViewScoped} instances of the view, created on the first request of a controller
+     * depending on them.
+     */
+    private DependencyContainer viewScope;
+
     /**
      * Initializes a new factory with a given dependency container.
      *
@@ -23,13 +30,20 @@ class InjectionFactory implements Callback<Class<?>, Object> {
 
     /**
      * The entrypoint for the {@link javafx.fxml.FXMLLoader} instance to construct controllers from the class in the
-     * fx:controller directive in the loaded fxml file.
+     * fx:controller directive in the loaded fxml file. Controllers depending on {@link ViewScoped} classes are created
+     * in the view container of this factory, all other controllers directly in the dependency container.
      *
      * @param clazz the referenced class from the fxml file
      * @return an instance of the referenced class with injected singletons
      */
     @Override
     public Object call(Class<?> clazz) {
-        return dependencyContainer.getOrCreateInjectableTypes(clazz);
+        if (!InjectionPlan.dependsOnViewScope(clazz)) {
+            return dependencyContainer.getOrCreateInjectableTypes(clazz);
+        }
+        if (viewScope == null) {
+            viewScope = dependencyContainer.createViewScope();
+        }
+        return viewScope.getOrCreateInjectableTypes(clazz);
     }
 }
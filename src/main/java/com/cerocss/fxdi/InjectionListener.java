@@ -0,0 +1,66 @@
+package com.cerocss.fxdi;
+
+import java.net.URL;
+
+/**
+ * Listener receiving timing and count information of a {@link DependencyContainer} and the {@link FXDILoader} using
+ * it, e.g. to feed it into monitoring. All methods are called on the thread doing the respective work and should
+ * return quickly. No measurements are taken while no listener is registered.
+ */
+public interface InjectionListener {
+
+    /**
+     * Called after the dependency tree of a class was resolved and validated.
+     *
+     * @param type  the class whose dependencies were resolved
+     * @param nanos the resolution time in nanoseconds
+     */
+    default void onResolved(Class<?> type, long nanos) {
+    }
+
+    /**
+     * Called after an instance of a class was constructed, for singletons as well as for other requested classes.
+     *
+     * @param type  the class that was instantiated
+     * @param nanos the construction time in nanoseconds
+     */
+    default void onConstructed(Class<?> type, long nanos) {
+    }
+
+    /**
+     * Called when a requested class or a constructor argument was served from the registered singletons without
+     * construction.
+     *
+     * @param type the requested or injected class
+     */
+    default void onCacheHit(Class<?> type) {
+    }
+
+    /**
+     * Called after a fxml file was loaded by a {@link FXDILoader}, including the creation of its controllers.
+     *
+     * @param url   the url of the loaded fxml file
+     * @param nanos the load time in nanoseconds
+     */
+    default void onLoaded(URL url, long nanos) {
+    }
+
+    /**
+     * Called after a fxml file was loaded by a {@link FXDILoader}, right before {@link #onLoaded(URL, long)}, with the
+     * loaded view, e.g. to inspect the classes of its scene graph.
+     *
+     * @param view the loaded view
+     */
+    default void onViewLoaded(LoadedView<?> view) {
+    }
+
+    /**
+     * Called for every element class a {@link FXDILoader} looks up a builder for while loading a fxml file. This
+     * includes values that are not nodes, like constraints, insets, tabs, menu items and tooltips. Not called for views
+     * compiled at build time, as they do not create their elements reflectively.
+     *
+     * @param type the class of the element
+     */
+    default void onViewElement(Class<?> type) {
+    }
+}
@@ -0,0 +1,577 @@
+package com.cerocss.fxdi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * Resolved instantiation recipe of a single class. A plan holds the selected injection constructor and its parameter
+ * slots, so that the reflective constructor discovery only happens once per class. Classes with an
+ * {@link InjectableFactory} generated at compile time are planned without any reflective discovery. Plans do not depend
+ * on the state of any {@link DependencyContainer} and are therefore shared between all container instances. Classes
+ * contained in a loaded {@link ResolutionSnapshot} are planned with the recorded constructor instead of discovering it.
+ */
+final class InjectionPlan {
+
+    /**
+     * Per class cache of resolved plans. Classes that cannot be resolved are not cached, so the resolution error is
+     * reported again on every request.
+     */
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> type) {
+            var factory = GeneratedFactories.find(type);
+            if (factory != null) {
+                return new InjectionPlan(type, factory);
+            }
+            var recorded = RECORDED.remove(type);
+            if (recorded != null) {
+                return recorded;
+            }
+            var constructor = getInjectionConstructor(type);
+            return new InjectionPlan(type, constructor, getLazyTargets(type, constructor.getParameterTypes(), constructor.getGenericParameterTypes()), getInitializeMethods(type), getDisposeMethods(type));
+        }
+    };
+
+    /**
+     * Per class cache whether instances of a class depend on a {@link ViewScoped} class, either directly or through
+     * {@link Prototype} parameters.
+     */
+    private static final ClassValue<Boolean> VIEW_SCOPE_DEPENDENT = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            var visited = new HashSet<Class<?>>();
+            var pending = new ArrayDeque<Class<?>>();
+            pending.add(type);
+            while (!pending.isEmpty()) {
+                var current = pending.poll();
+                if (current.isAnnotationPresent(ViewScoped.class)) {
+                    return true;
+                }
+                if ((current == type || current.isAnnotationPresent(Prototype.class)) && visited.add(current)) {
+                    var plan = of(current);
+                    for (int i = 0; i < plan.parameterTypes.length; i++) {
+                        pending.add(plan.lazyTargets[i] == null ? plan.parameterTypes[i] : plan.lazyTargets[i]);
+                    }
+                }
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Plans restored from a {@link ResolutionSnapshot} that were not requested yet. They are moved into the plan cache
+     * on first use.
+     */
+    private static final Map<Class<?>, InjectionPlan> RECORDED = new ConcurrentHashMap<>();
+
+    /**
+     * Handle of {@link InjectableFactory#create(Object...)} taking the factory and an argument array.
+     */
+    private static final MethodHandle FACTORY_CREATE = findVirtual(MethodHandles.publicLookup(), InjectableFactory.class, "create",
+            MethodType.methodType(Object.class, Object[].class)).asFixedArity();
+
+    /**
+     * The class this plan instantiates.
+     */
+    private final Class<?> type;
+
+    /**
+     * The constructor that is used for instantiation, or null if the class is created by a generated factory.
+     */
+    private final Constructor<?> constructor;
+
+    /**
+     * The parameter types of the constructor in declaration order.
+     */
+    private final Class<?>[] parameterTypes;
+
+    /**
+     * The referenced singleton classes of {@link Lazy} parameters in declaration order, with null for parameters that
+     * are not lazy.
+     */
+    private final Class<?>[] lazyTargets;
+
+    /**
+     * The parameter types that have to be created before the planned class, i.e. all parameters that are not
+     * {@link Lazy}.
+     */
+    private final Class<?>[] dependencies;
+
+    /**
+     * The referenced classes of {@link Lazy} parameters that are not annotated as {@link Singleton} and therefore
+     * have to be registered manually.
+     */
+    private final Class<?>[] unannotatedLazyTargets;
+
+    /**
+     * Method handle of the constructor returning {@link Object}, or null if the constructor cannot be accessed through
+     * a method handle and has to be invoked reflectively.
+     */
+    private final MethodHandle constructorHandle;
+
+    /**
+     * Public methods annotated with {@link Initialize}, which are started when a singleton of the planned class is
+     * created.
+     */
+    private final Method[] initializeMethods;
+
+    /**
+     * Public methods annotated with {@link Dispose}, which are called when a singleton of the planned class is disposed.
+     */
+    private final Method[] disposeMethods;
+
+    private InjectionPlan(Class<?> type, Constructor<?> constructor, Class<?>[] lazyTargets, Method[] initializeMethods, Method[] disposeMethods) {
+        this.type = type;
+        this.constructor = constructor;
+        this.parameterTypes = constructor.getParameterTypes();
+        this.lazyTargets = lazyTargets;
+        this.dependencies = getDependencies(parameterTypes, lazyTargets);
+        this.unannotatedLazyTargets = getUnannotatedLazyTargets(type, lazyTargets);
+        this.constructorHandle = unreflect(type, constructor);
+        this.initializeMethods = initializeMethods;
+        this.disposeMethods = disposeMethods;
+    }
+
+    private InjectionPlan(Class<?> type, InjectableFactory<?> factory) {
+        this.type = type;
+        this.constructor = null;
+        this.parameterTypes = factory.dependencies();
+        this.lazyTargets = factory.lazyDependencies();
+        this.dependencies = getDependencies(parameterTypes, lazyTargets);
+        this.unannotatedLazyTargets = getUnannotatedLazyTargets(type, lazyTargets);
+        this.constructorHandle = FACTORY_CREATE.bindTo(factory).asCollector(Object[].class, parameterTypes.length);
+        this.initializeMethods = getInitializeMethods(type);
+        this.disposeMethods = getDisposeMethods(type);
+    }
+
+    /**
+     * Look up the cached plan of a class, resolving it on first use.
+     *
+     * @param type type to get the plan for
+     * @return the resolved plan of the requested class
+     */
+    static InjectionPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Check whether instances of a class have to be created while loading a view, as the class is {@link ViewScoped}
+     * or depends on a view scoped class, either directly or through {@link Prototype} parameters.
+     *
+     * @param type the class to check
+     * @return true if the class depends on the view scope
+     */
+    static boolean dependsOnViewScope(Class<?> type) {
+        return VIEW_SCOPE_DEPENDENT.get(type);
+    }
+
+    /**
+     * Provide the recorded plan of a class, which is used instead of discovering its injection constructor if the class
+     * is not planned yet. The recording is not validated beyond the existence of the constructor and methods.
+     *
+     * @param type              the class to plan
+     * @param constructor       the recorded injection constructor
+     * @param lazyTargets       the recorded referenced classes of {@link Lazy} parameters, with null for other
+     *                          parameters
+     * @param initializeMethods the recorded {@link Initialize} methods
+     * @param disposeMethods    the recorded {@link Dispose} methods
+     */
+    static void restore(Class<?> type, Constructor<?> constructor, Class<?>[] lazyTargets, Method[] initializeMethods, Method[] disposeMethods) {
+        RECORDED.putIfAbsent(type, new InjectionPlan(type, constructor, lazyTargets, initializeMethods, disposeMethods));
+    }
+
+    /**
+     * Helper method to figure out the constructor to be used for instantiation of objects. The constructor is
+     * determined by the amount of public and {@link InjectionConstructor} annotated constructors. Classes without
+     * public constructors cannot be instantiated by the {@link DependencyContainer}. If there are multiple public
+     * constructors, the one that is annotated with {@link InjectionConstructor} is used. Classes with multiple
+     * annotated public constructors or multiple not annotated constructors also cannot be instantiated by the
+     * {@link DependencyContainer}.
+     *
+     * @param type type to find the appropriate constructor for
+     * @return selected constructor of the requested class
+     */
+    private static Constructor<?> getInjectionConstructor(Class<?> type) {
+        var constructors = type.getConstructors();
+        return switch (constructors.length) {
+            case 0 ->
+                    throw new RuntimeException(type.getName() + " has no public constructors. It cannot be instantiated.");
+            case 1 -> constructors[0];
+            default -> {
+                var injectionControllers = Arrays.stream(constructors).filter(constructor -> constructor.isAnnotationPresent(InjectionConstructor.class)).toList();
+                yield switch (injectionControllers.size()) {
+                    case 0 ->
+                            throw new RuntimeException(type.getName() + " has multiple public constructors. Annotate a single one with @InjectionController.");
+                    case 1 -> injectionControllers.getFirst();
+                    default ->
+                            throw new RuntimeException(type.getName() + " has multiple public constructors annotated as InjectionController. There should be only a single public one.");
+                };
+            }
+        };
+    }
+
+    /**
+     * Helper method to look up a virtual method as handle, so static handle constants need no checked exception handling.
+     *
+     * @param lookup the lookup with access to the method
+     * @param owner  the class declaring the method
+     * @param name   the name of the method
+     * @param type   the type of the method
+     * @return the method handle taking the receiver as first argument
+     */
+    static MethodHandle findVirtual(MethodHandles.Lookup lookup, Class<?> owner, String name, MethodType type) {
+        try {
+            return lookup.findVirtual(owner, name, type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new RuntimeException(owner.getName() + "." + name + " cannot be looked up.", e);
+        }
+    }
+
+    /**
+     * Helper method to determine the referenced classes of {@link Lazy} constructor parameters that are not annotated
+     * as injectable and therefore have to be registered manually.
+     *
+     * @param type        the class that is instantiated
+     * @param lazyTargets the referenced classes of lazy parameters, with null for other parameters
+     * @return the referenced classes that are not annotated as injectable
+     * @throws RuntimeException if a lazy parameter references a {@link Prototype}, as the lazy reference is created
+     *                          once and would share the instance with all instances of the class
+     */
+    private static Class<?>[] getUnannotatedLazyTargets(Class<?> type, Class<?>[] lazyTargets) {
+        for (var target : lazyTargets) {
+            if (target != null && target.isAnnotationPresent(Prototype.class)) {
+                throw new RuntimeException(type.getName() + " has a Lazy constructor parameter referencing " + target.getName() + ", which is Prototype. Lazy references are created once and would be shared by all instances.");
+            }
+        }
+        return Arrays.stream(lazyTargets).filter(target -> target != null && !DependencyContainer.isInjectable(target)).toArray(Class<?>[]::new);
+    }
+
+    /**
+     * Helper method to determine the referenced singletons of {@link Lazy} constructor parameters.
+     *
+     * @param type                  the class that is instantiated
+     * @param parameterTypes        the constructor parameter types
+     * @param genericParameterTypes the generic constructor parameter types
+     * @return the referenced singleton classes in parameter order, with null for parameters that are not lazy
+     */
+    private static Class<?>[] getLazyTargets(Class<?> type, Class<?>[] parameterTypes, Type[] genericParameterTypes) {
+        var lazyTargets = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i] != Lazy.class) {
+                continue;
+            }
+            if (genericParameterTypes.length != parameterTypes.length
+                    || !(genericParameterTypes[i] instanceof ParameterizedType lazyType)
+                    || !(rawType(lazyType.getActualTypeArguments()[0]) instanceof Class<?> target)) {
+                throw new RuntimeException(type.getName() + " has a Lazy constructor parameter without a concrete type argument.");
+            }
+            lazyTargets[i] = target;
+        }
+        return lazyTargets;
+    }
+
+    /**
+     * Helper method to erase type arguments of a type.
+     *
+     * @param type the type to erase
+     * @return the class of the type or null if it is a wildcard or type variable
+     */
+    private static Type rawType(Type type) {
+        return type instanceof ParameterizedType parameterizedType ? parameterizedType.getRawType() : type;
+    }
+
+    /**
+     * Helper method to select the parameter types that have to be created before the planned class.
+     *
+     * @param parameterTypes the constructor parameter types
+     * @param lazyTargets    the referenced singletons of lazy parameters
+     * @return all parameter types that are not lazy
+     */
+    private static Class<?>[] getDependencies(Class<?>[] parameterTypes, Class<?>[] lazyTargets) {
+        var dependencies = new Class<?>[parameterTypes.length];
+        var count = 0;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (lazyTargets[i] == null) {
+                dependencies[count++] = parameterTypes[i];
+            }
+        }
+        return Arrays.copyOf(dependencies, count);
+    }
+
+    /**
+     * Helper method to find the initialization hooks of a class.
+     *
+     * @param type the class that is instantiated
+     * @return the public methods without parameters that are annotated with {@link Initialize}
+     */
+    private static Method[] getInitializeMethods(Class<?> type) {
+        return Arrays.stream(type.getMethods()).filter(method -> method.isAnnotationPresent(Initialize.class) && method.getParameterCount() == 0).toArray(Method[]::new);
+    }
+
+    /**
+     * Helper method to find the destroy hooks of a class.
+     *
+     * @param type the class that is instantiated
+     * @return the public methods without parameters that are annotated with {@link Dispose}
+     */
+    private static Method[] getDisposeMethods(Class<?> type) {
+        return Arrays.stream(type.getMethods()).filter(method -> method.isAnnotationPresent(Dispose.class) && method.getParameterCount() == 0).toArray(Method[]::new);
+    }
+
+    /**
+     * Helper method to convert the constructor into a method handle. Abstract classes and constructors that are not
+     * accessible through method handles are left to reflection, which reports the respective errors on instantiation.
+     *
+     * @param type        the class that is instantiated
+     * @param constructor the selected injection constructor
+     * @return the constructor handle returning {@link Object} or null if it cannot be created
+     */
+    private static MethodHandle unreflect(Class<?> type, Constructor<?> constructor) {
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            var handle = MethodHandles.lookup().unreflectConstructor(constructor);
+            return handle.asType(handle.type().changeReturnType(Object.class));
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Bind the resolved constructor arguments to the constructor handle, calling the given factories for every
+     * instantiation instead of binding a fixed argument, e.g. to create a new {@link Prototype} for every instance.
+     *
+     * @param arguments resolved constructor arguments in parameter order, ignored for parameters with a factory
+     * @param factories factory handles of type {@code ()Object} in parameter order, with null for bound arguments
+     * @return the bound factory handle or null if instantiation has to fall back to reflection
+     */
+    MethodHandle bind(Object[] arguments, MethodHandle[] factories) {
+        if (constructorHandle == null) {
+            return null;
+        }
+        var handle = constructorHandle;
+        for (int i = arguments.length - 1; i >= 0; i--) {
+            if (factories[i] == null) {
+                handle = MethodHandles.insertArguments(handle, i, arguments[i]);
+            } else {
+                handle = MethodHandles.collectArguments(handle, i, factories[i].asType(MethodType.methodType(handle.type().parameterType(i))));
+            }
+        }
+        return handle.asType(MethodType.methodType(Object.class));
+    }
+
+    /**
+     * @return true if the constructor can be bound to a method handle
+     */
+    boolean isBindable() {
+        return constructorHandle != null;
+    }
+
+    /**
+     * Start the {@link Initialize} methods of an instance of the planned class once its dependencies are initialized.
+     * Methods returning a {@link CompletionStage} are called on the thread completing the last dependency, or on the
+     * current thread if no dependency is pending, all other methods are run on the executor.
+     *
+     * @param instance     the instance to initialize
+     * @param dependencies future that completes once the dependencies are initialized, or null if none is pending
+     * @param executor     executor to run the methods on that do not return a stage
+     * @return future that completes once the dependencies and all methods completed, or null if neither the class nor
+     * its dependencies have to be awaited
+     */
+    CompletableFuture<Void> initialize(Object instance, CompletableFuture<Void> dependencies, Executor executor) {
+        if (initializeMethods.length == 0) {
+            return dependencies;
+        }
+        var ready = dependencies == null ? CompletableFuture.<Void>completedFuture(null) : dependencies;
+        var futures = new CompletableFuture<?>[initializeMethods.length];
+        for (int i = 0; i < initializeMethods.length; i++) {
+            var method = initializeMethods[i];
+            if (CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+                futures[i] = ready.thenCompose(ignored -> {
+                    var stage = (CompletionStage<?>) invoke(method, instance);
+                    return stage == null ? CompletableFuture.completedFuture(null) : stage;
+                });
+            } else {
+                futures[i] = ready.thenRunAsync(() -> invoke(method, instance), executor);
+            }
+        }
+        return CompletableFuture.allOf(futures).handle((result, error) -> {
+            if (error != null) {
+                // allOf reports failures wrapped in a CompletionException
+                throw new CompletionException(new RuntimeException(type.getName() + " cannot be initialized.", error.getCause()));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Helper method to call an initialization hook, unwrapping the exception it throws.
+     *
+     * @param method   the method to call
+     * @param instance the instance to call the method on
+     * @return the result of the method
+     * @throws CompletionException with the exception thrown by the method
+     */
+    private static Object invoke(Method method, Object instance) {
+        try {
+            return method.invoke(instance);
+        } catch (InvocationTargetException e) {
+            throw new CompletionException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Release the resources of an instance of the planned class by calling its {@link Dispose} methods in declaration
+     * order and closing it afterwards if it is {@link AutoCloseable}.
+     *
+     * @param instance the instance to dispose
+     * @throws Exception the first exception thrown by a destroy hook, with the exceptions of the following hooks
+     *                   suppressed
+     */
+    void dispose(Object instance) throws Exception {
+        Exception failure = null;
+        for (var method : disposeMethods) {
+            try {
+                method.invoke(instance);
+            } catch (InvocationTargetException e) {
+                failure = addFailure(failure, e.getCause() instanceof Exception cause ? cause : e);
+            } catch (IllegalAccessException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        if (instance instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Helper method to keep the first failure of multiple destroy hooks, suppressing the following ones.
+     *
+     * @param failure the first failure or null if none occurred yet
+     * @param e       the new failure
+     * @return the first failure
+     */
+    private static Exception addFailure(Exception failure, Exception e) {
+        if (failure == null) {
+            return e;
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+
+    /**
+     * Check whether all constructor parameters that are not lazy are already available, which allows instantiating the
+     * planned class without resolving its dependency tree. Lazy references to classes that are not annotated as
+     * {@link Singleton} or {@link Scoped} have to be registered as well.
+     *
+     * @param registered check whether a singleton of a class is already registered
+     * @return true if every parameter is registered
+     */
+    boolean isSatisfiedBy(Predicate<Class<?>> registered) {
+        for (var dependency : dependencies) {
+            if (!registered.test(dependency)) {
+                return false;
+            }
+        }
+        for (var lazyTarget : unannotatedLazyTargets) {
+            if (!registered.test(lazyTarget)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the class this plan instantiates
+     */
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the selected injection constructor or null if the class is created by a generated factory
+     */
+    Constructor<?> getConstructor() {
+        return constructor;
+    }
+
+    /**
+     * @return the parameter types of the injection constructor, which must not be modified
+     */
+    Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * @return the referenced singletons of {@link Lazy} parameters in parameter order, with null for parameters that
+     * are not lazy, which must not be modified
+     */
+    Class<?>[] getLazyTargets() {
+        return lazyTargets;
+    }
+
+    /**
+     * @return the methods annotated with {@link Initialize}, which must not be modified
+     */
+    Method[] getInitializeMethods() {
+        return initializeMethods;
+    }
+
+    /**
+     * @return the methods annotated with {@link Dispose}, which must not be modified
+     */
+    Method[] getDisposeMethods() {
+        return disposeMethods;
+    }
+
+    /**
+     * @return the parameter types that have to be created before the planned class, which must not be modified
+     */
+    Class<?>[] getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Check whether the planned class references one of the given classes as constructor parameter, either directly
+     * or as {@link Lazy} reference.
+     *
+     * @param types the classes to look for
+     * @return true if any parameter references one of the classes
+     */
+    boolean dependsOnAny(Set<Class<?>> types) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (types.contains(lazyTargets[i] == null ? parameterTypes[i] : lazyTargets[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.cerocss.fxdi;
+
+/**
+ * Deferred reference to a {@link Singleton}, that can be used as constructor parameter instead of the singleton itself.
+ * The singleton and its dependencies are only created on the first call of {@link #get()}, which allows classes to
+ * depend on expensive singletons they rarely use. Lazy dependencies are not part of the instantiation order and can
+ * therefore also be used to break circular dependencies. {@link Prototype} classes cannot be referenced, as the
+ * referenced instance is created only once.
+ *
+ * @param <T> type of the referenced singleton
+ */
+public interface Lazy<T> {
+
+    /**
+     * Get the referenced singleton, creating it on first use. The singleton is created at most once, even if this
+     * method is called concurrently.
+     *
+     * @return the referenced singleton
+     */
+    T get();
+}
@@ -0,0 +1,56 @@
+package com.cerocss.fxdi;
+
+/**
+ * {@link Lazy} implementation that creates the referenced singleton through the {@link DependencyContainer} on first
+ * use and keeps a reference to it afterward.
+ *
+ * @param <T> type of the referenced singleton
+ */
+final class LazySingleton<T> implements Lazy<T> {
+
+    /**
+     * The container that creates and registers the singleton.
+     */
+    private final DependencyContainer dependencyContainer;
+
+    /**
+     * The class of the referenced singleton.
+     */
+    private final Class<T> type;
+
+    /**
+     * The singleton once it was requested.
+     */
+    private volatile T instance;
+
+    /**
+     * Initializes a new lazy reference to a singleton.
+     *
+     * @param dependencyContainer the container that creates the singleton
+     * @param type                the class of the referenced singleton
+     */
+    LazySingleton(DependencyContainer dependencyContainer, Class<T> type) {
+        this.dependencyContainer = dependencyContainer;
+        this.type = type;
+    }
+
+    @Override
+    public T get() {
+        var result = instance;
+        if (result == null) {
+            synchronized (this) {
+                result = instance;
+                if (result == null) {
+                    result = type.cast(dependencyContainer.getOrCreateSingleton(type));
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy[" + type.getName() + "]";
+    }
+}
@@ -0,0 +1,78 @@
+package com.cerocss.fxdi;
+
+import java.net.URL;
+import java.util.ResourceBundle;
+
+/**
+ * A view loaded by the {@link FXDILoader} together with its controller, that can be returned to the view pool of the
+ * loader with {@link FXDILoader#release(LoadedView)} once it is not displayed anymore.
+ *
+ * @param <T> type of the fxml parent
+ */
+public final class LoadedView<T> {
+
+    /**
+     * The url of the loaded fxml file.
+     */
+    private final URL url;
+
+    /**
+     * The root of the loaded scene graph.
+     */
+    private final T root;
+
+    /**
+     * The controller of the loaded fxml file, or null if it does not declare one.
+     */
+    private final Object controller;
+
+    /**
+     * The resource bundle the view was translated with, or null if it was loaded without one.
+     */
+    private final ResourceBundle resourceBundle;
+
+    /**
+     * Initializes a new view.
+     *
+     * @param url            the url of the loaded fxml file
+     * @param root           the root of the loaded scene graph
+     * @param controller     the controller of the loaded fxml file, or null if it does not declare one
+     * @param resourceBundle the resource bundle the view was translated with, or null if it was loaded without one
+     */
+    LoadedView(URL url, T root, Object controller, ResourceBundle resourceBundle) {
+        this.url = url;
+        this.root = root;
+        this.controller = controller;
+        this.resourceBundle = resourceBundle;
+    }
+
+    /**
+     * @return the url of the loaded fxml file
+     */
+    public URL getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the root of the loaded scene graph
+     */
+    public T getRoot() {
+        return root;
+    }
+
+    /**
+     * @param <C> type of the controller
+     * @return the controller of the loaded fxml file, or null if it does not declare one
+     */
+    @SuppressWarnings("unchecked")
+    public <C> C getController() {
+        return (C) controller;
+    }
+
+    /**
+     * @return the resource bundle the view was translated with, or null if it was loaded without one
+     */
+    ResourceBundle getResourceBundle() {
+        return resourceBundle;
+    }
+}
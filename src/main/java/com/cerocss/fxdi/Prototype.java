@@ -0,0 +1,14 @@
+package com.cerocss.fxdi;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks injected classes that are instantiated for every injection, so that every class depending on it receives its
+ * own instance. Prototypes are never registered. Their construction, including their own constructor parameters, is
+ * bound into a factory on first use, so that repeated creation does not resolve the dependency tree again.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Prototype {
+}
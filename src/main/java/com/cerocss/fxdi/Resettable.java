@@ -0,0 +1,15 @@
+package com.cerocss.fxdi;
+
+/**
+ * Controllers of pooled views can implement this interface to clear the state of their view before it is reused, e.g.
+ * the item displayed by a list cell.
+ *
+ * @see FXDILoader#release(LoadedView)
+ */
+public interface Resettable {
+
+    /**
+     * Called when the view of this controller is returned to the view pool of its {@link FXDILoader}.
+     */
+    void reset();
+}
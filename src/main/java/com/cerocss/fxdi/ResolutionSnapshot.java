@@ -0,0 +1,371 @@
+package com.cerocss.fxdi;
+
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Resolved dependency graphs of a container hierarchy, which can be persisted and restored on the next start of the
+ * application to skip the reflective constructor discovery and the validation of the dependency trees. A snapshot
+ * holds the planned constructors of all resolved classes and the instantiation orders of the resolved root classes
+ * together with the registered classes they relied on. A recorded order is only reused if the container is in the
+ * same state, i.e. the relied on classes are registered and no class of the order is registered yet.
+ * <p>
+ * Snapshots are keyed by the Java runtime and the classpath, including the size and modification time of every class
+ * file and archive on it and of the runtime image, so that snapshots of another build are discarded. Applications
+ * linked into a custom runtime image have no classpath, but their modules are part of the image. The key is computed
+ * once per JVM, as the loaded classes cannot change while it runs.
+ */
+final class ResolutionSnapshot {
+
+    /**
+     * Marker at the start of every snapshot file.
+     */
+    private static final int MAGIC = 0x46584449;
+
+    /**
+     * Version of the file format.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Maximum amount of recorded orders per root class, as every container state results in another order.
+     */
+    private static final int MAXIMUM_RESOLUTIONS = 8;
+
+    /**
+     * Recorded resolutions associated with their root class.
+     */
+    private final Map<Class<?>, List<Resolution>> resolutions = new ConcurrentHashMap<>();
+
+    /**
+     * Holder of the key of the current classpath, which is computed on the first load or save of a snapshot.
+     */
+    private static final class ClasspathKey {
+
+        /**
+         * The key of the current classpath.
+         */
+        private static final String VALUE = classpathKey();
+    }
+
+    /**
+     * A recorded instantiation order of a root class.
+     */
+    private static final class Resolution {
+
+        /**
+         * The singletons that need to be instantiated in instantiation order.
+         */
+        private final Class<?>[] order;
+
+        /**
+         * The registered classes the order relies on, which were not visited by the resolution.
+         */
+        private final Class<?>[] registered;
+
+        private Resolution(Class<?>[] order, Class<?>[] registered) {
+            this.order = order;
+            this.registered = registered;
+        }
+
+        /**
+         * Check whether the order was recorded in the current container state.
+         *
+         * @param isRegistered check whether an instance of a class is registered
+         * @return true if the order can be reused
+         */
+        private boolean matches(Predicate<Class<?>> isRegistered) {
+            for (var type : registered) {
+                if (!isRegistered.test(type)) {
+                    return false;
+                }
+            }
+            for (var type : order) {
+                if (isRegistered.test(type)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Find a recorded instantiation order of a root class matching the current container state.
+     *
+     * @param root         the class whose dependency tree should be resolved
+     * @param isRegistered check whether an instance of a class is registered
+     * @return the singletons that need to be instantiated in instantiation order or null if none is recorded
+     */
+    List<Class<?>> find(Class<?> root, Predicate<Class<?>> isRegistered) {
+        var recorded = resolutions.get(root);
+        if (recorded == null) {
+            return null;
+        }
+        synchronized (recorded) {
+            for (var resolution : recorded) {
+                if (resolution.matches(isRegistered)) {
+                    return List.of(resolution.order);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Record the validated instantiation order of a root class.
+     *
+     * @param root       the resolved class
+     * @param order      the singletons that need to be instantiated in instantiation order
+     * @param registered the registered classes the order relies on
+     */
+    void record(Class<?> root, List<Class<?>> order, Set<Class<?>> registered) {
+        var recorded = resolutions.computeIfAbsent(root, key -> new ArrayList<>());
+        synchronized (recorded) {
+            if (recorded.size() < MAXIMUM_RESOLUTIONS) {
+                recorded.add(new Resolution(order.toArray(Class<?>[]::new), registered.toArray(Class<?>[]::new)));
+            }
+        }
+    }
+
+    /**
+     * Write the snapshot to a file, replacing an existing one.
+     *
+     * @param file the file to write
+     * @throws RuntimeException if the file cannot be written
+     */
+    void save(Path file) {
+        var roots = new LinkedHashMap<Class<?>, List<Resolution>>();
+        resolutions.forEach((root, recorded) -> {
+            synchronized (recorded) {
+                roots.put(root, List.copyOf(recorded));
+            }
+        });
+
+        var plans = new LinkedHashMap<Class<?>, InjectionPlan>();
+        var pending = new ArrayDeque<Class<?>>();
+        roots.forEach((root, recorded) -> {
+            pending.add(root);
+            recorded.forEach(resolution -> pending.addAll(List.of(resolution.order)));
+        });
+        while (!pending.isEmpty()) {
+            var type = pending.poll();
+            if (plans.containsKey(type)) {
+                continue;
+            }
+            InjectionPlan plan;
+            try {
+                plan = InjectionPlan.of(type);
+            } catch (RuntimeException e) {
+                // registered root classes are not planned and may not be instantiable
+                continue;
+            }
+            plans.put(type, plan);
+            Arrays.stream(plan.getLazyTargets()).filter(Objects::nonNull).filter(DependencyContainer::isInjectable).forEach(pending::add);
+        }
+
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeUTF(ClasspathKey.VALUE);
+
+                var reflectivePlans = plans.values().stream().filter(plan -> plan.getConstructor() != null).toList();
+                output.writeInt(reflectivePlans.size());
+                for (var plan : reflectivePlans) {
+                    output.writeUTF(plan.getType().getName());
+                    writeTypes(output, plan.getParameterTypes());
+                    writeTypes(output, plan.getLazyTargets());
+                    writeMethods(output, plan.getInitializeMethods());
+                    writeMethods(output, plan.getDisposeMethods());
+                }
+
+                output.writeInt(roots.size());
+                for (var entry : roots.entrySet()) {
+                    output.writeUTF(entry.getKey().getName());
+                    output.writeInt(entry.getValue().size());
+                    for (var resolution : entry.getValue()) {
+                        writeTypes(output, resolution.order);
+                        writeTypes(output, resolution.registered);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("The resolution snapshot cannot be written to " + file + ".", e);
+        }
+    }
+
+    /**
+     * Read a snapshot file and restore its plans and orders. Files of another classpath or file format, and files
+     * referencing classes or members that do not exist anymore are ignored entirely.
+     *
+     * @param file the file to read
+     * @return true if the snapshot was restored, false if the file does not exist or is stale
+     * @throws RuntimeException if the file cannot be read
+     */
+    boolean load(Path file) {
+        var classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ResolutionSnapshot.class.getClassLoader();
+        }
+
+        var plans = new ArrayList<Runnable>();
+        var loaded = new LinkedHashMap<Class<?>, List<Resolution>>();
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION || !input.readUTF().equals(ClasspathKey.VALUE)) {
+                return false;
+            }
+
+            var planCount = input.readInt();
+            for (int i = 0; i < planCount; i++) {
+                var type = Class.forName(input.readUTF(), false, classLoader);
+                var parameterTypes = readTypes(input, classLoader);
+                var lazyTargets = readTypes(input, classLoader);
+                var initializeMethods = readMethods(input, type);
+                var disposeMethods = readMethods(input, type);
+                Constructor<?> constructor = type.getConstructor(parameterTypes);
+                plans.add(() -> InjectionPlan.restore(type, constructor, lazyTargets, initializeMethods, disposeMethods));
+            }
+
+            var rootCount = input.readInt();
+            for (int i = 0; i < rootCount; i++) {
+                var root = Class.forName(input.readUTF(), false, classLoader);
+                var recorded = new ArrayList<Resolution>();
+                var resolutionCount = input.readInt();
+                for (int j = 0; j < resolutionCount; j++) {
+                    recorded.add(new Resolution(readTypes(input, classLoader), readTypes(input, classLoader)));
+                }
+                loaded.put(root, recorded);
+            }
+        } catch (NoSuchFileException | EOFException | ClassNotFoundException | NoSuchMethodException e) {
+            return false;
+        } catch (IOException e) {
+            throw new RuntimeException("The resolution snapshot cannot be read from " + file + ".", e);
+        }
+
+        plans.forEach(Runnable::run);
+        resolutions.putAll(loaded);
+        return true;
+    }
+
+    /**
+     * Helper method to write class names, with an empty name for null.
+     *
+     * @param output the stream to write to
+     * @param types  the classes to write
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeTypes(DataOutputStream output, Class<?>[] types) throws IOException {
+        output.writeInt(types.length);
+        for (var type : types) {
+            output.writeUTF(type == null ? "" : type.getName());
+        }
+    }
+
+    /**
+     * Helper method to read class names written by {@link #writeTypes(DataOutputStream, Class[])}.
+     *
+     * @param input       the stream to read from
+     * @param classLoader the class loader to load the classes with
+     * @return the loaded classes, with null for empty names
+     * @throws IOException            if the stream cannot be read
+     * @throws ClassNotFoundException if a class does not exist anymore
+     */
+    private static Class<?>[] readTypes(DataInputStream input, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        var types = new Class<?>[input.readInt()];
+        for (int i = 0; i < types.length; i++) {
+            var name = input.readUTF();
+            types[i] = name.isEmpty() ? null : Class.forName(name, false, classLoader);
+        }
+        return types;
+    }
+
+    /**
+     * Helper method to write the names of methods without parameters.
+     *
+     * @param output  the stream to write to
+     * @param methods the methods to write
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeMethods(DataOutputStream output, Method[] methods) throws IOException {
+        output.writeInt(methods.length);
+        for (var method : methods) {
+            output.writeUTF(method.getName());
+        }
+    }
+
+    /**
+     * Helper method to read methods written by {@link #writeMethods(DataOutputStream, Method[])}.
+     *
+     * @param input the stream to read from
+     * @param type  the class declaring the methods
+     * @return the public methods without parameters
+     * @throws IOException           if the stream cannot be read
+     * @throws NoSuchMethodException if a method does not exist anymore
+     */
+    private static Method[] readMethods(DataInputStream input, Class<?> type) throws IOException, NoSuchMethodException {
+        var methods = new Method[input.readInt()];
+        for (int i = 0; i < methods.length; i++) {
+            methods[i] = type.getMethod(input.readUTF());
+        }
+        return methods;
+    }
+
+    /**
+     * Helper method to compute the key of the current classpath. The runtime is identified by its location, version and
+     * the size and modification time of its module image, archives by their path, size and modification time, class
+     * directories by the paths, sizes and modification times of the files they contain.
+     *
+     * @return a hash of the runtime, classpath and module path
+     */
+    static String classpathKey() {
+        var digest = messageDigest("SHA-256");
+        var javaHome = System.getProperty("java.home", "");
+        digest.update((javaHome + ":" + Runtime.version() + "\n").getBytes(StandardCharsets.UTF_8));
+        var path = Path.of(javaHome, "lib", "modules") + File.pathSeparator + System.getProperty("java.class.path", "")
+                + File.pathSeparator + System.getProperty("jdk.module.path", "");
+        for (var entry : path.split(File.pathSeparator)) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            var entryPath = Path.of(entry);
+            try (Stream<Path> files = Files.isDirectory(entryPath) ? Files.walk(entryPath) : Stream.of(entryPath)) {
+                files.filter(Files::isRegularFile).sorted().forEach(file -> {
+                    var attributes = file + ":" + file.toFile().length() + ":" + file.toFile().lastModified() + "\n";
+                    digest.update(attributes.getBytes(StandardCharsets.UTF_8));
+                });
+            } catch (IOException | UncheckedIOException e) {
+                digest.update(entry.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Helper method to get a message digest, so the key computation needs no checked exception handling.
+     *
+     * @param algorithm the name of the digest algorithm
+     * @return a new message digest
+     * @throws RuntimeException if the algorithm is not available
+     */
+    static MessageDigest messageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("The digest algorithm " + algorithm + " is not available.", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.cerocss.fxdi;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks injected classes whose instance is shared within a single {@link DependencyContainer} only, e.g. the state of a
+ * window or tab. A child container created with {@link DependencyContainer#createChild()} holds its own instance of
+ * these classes, while {@link Singleton} classes are shared with the whole application. Singletons must not depend on
+ * scoped classes.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Scoped {
+}
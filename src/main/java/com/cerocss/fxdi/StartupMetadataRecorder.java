@@ -0,0 +1,240 @@
+package com.cerocss.fxdi;
+
+import javafx.scene.Parent;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * {@link InjectionListener} recording every class the {@link DependencyContainer} and the {@link FXDILoader} use during
+ * a training run, to generate the startup metadata of the application: an AppCDS class list and the reflection
+ * configuration of GraalVM native images. Instantiated classes are recorded with their injection constructor,
+ * {@link Initialize} and {@link Dispose} methods. Instantiated classes without a scope annotation like {@link Singleton} are treated as
+ * controllers and recorded with all declared fields and methods, as the {@link javafx.fxml.FXMLLoader} injects fields
+ * and calls event handlers reflectively. The elements of loaded views are recorded with all public constructors and
+ * methods, as their properties are set reflectively. Besides the nodes of the scene graph, these are all classes the
+ * {@link javafx.fxml.FXMLLoader} creates, including constraints, insets, tabs, menu items and tooltips.
+ * <p>
+ * Setting the system property {@value #OUTPUT_PROPERTY} to a directory enables the recording for all root containers.
+ * The files {@value #CLASS_LIST} and {@value #REFLECT_CONFIG} are written to that directory when the JVM exits.
+ */
+public class StartupMetadataRecorder implements InjectionListener {
+
+    /**
+     * System property enabling the recording for all root containers, containing the output directory.
+     */
+    public static final String OUTPUT_PROPERTY = "fxdi.startupMetadata";
+
+    /**
+     * Name of the AppCDS class list file written to the output directory.
+     */
+    public static final String CLASS_LIST = "classlist";
+
+    /**
+     * Name of the GraalVM reflection configuration written to the output directory.
+     */
+    public static final String REFLECT_CONFIG = "reflect-config.json";
+
+    /**
+     * Recorder shared by all root containers if the recording is enabled by the system property.
+     */
+    private static final class Global {
+
+        /**
+         * The shared recorder, or null if the system property is not set.
+         */
+        private static final StartupMetadataRecorder INSTANCE = create();
+
+        /**
+         * Helper method to create the shared recorder and write its files when the JVM exits.
+         *
+         * @return the shared recorder or null if the system property is not set
+         */
+        private static StartupMetadataRecorder create() {
+            var output = System.getProperty(OUTPUT_PROPERTY);
+            if (output == null || output.isBlank()) {
+                return null;
+            }
+            var recorder = new StartupMetadataRecorder();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> recorder.write(Path.of(output)), "fxdi-startup-metadata"));
+            return recorder;
+        }
+    }
+
+    /**
+     * All classes resolved, requested or instantiated by a container and all classes of loaded views.
+     */
+    private final Set<Class<?>> usedTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Classes instantiated by a container.
+     */
+    private final Set<Class<?>> instantiatedTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Controllers of loaded views.
+     */
+    private final Set<Class<?>> controllerTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Classes of the elements of loaded views.
+     */
+    private final Set<Class<?>> elementTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a new {@link StartupMetadataRecorder}.
+     */
+    public StartupMetadataRecorder() {
+    }
+
+    /**
+     * @return the recorder shared by all root containers, or null if the recording is not enabled by the system
+     * property {@value #OUTPUT_PROPERTY}
+     */
+    static StartupMetadataRecorder global() {
+        return Global.INSTANCE;
+    }
+
+    @Override
+    public void onResolved(Class<?> type, long nanos) {
+        usedTypes.add(type);
+    }
+
+    @Override
+    public void onConstructed(Class<?> type, long nanos) {
+        usedTypes.add(type);
+        instantiatedTypes.add(type);
+    }
+
+    @Override
+    public void onCacheHit(Class<?> type) {
+        usedTypes.add(type);
+    }
+
+    @Override
+    public void onViewLoaded(LoadedView<?> view) {
+        if (view.getController() != null) {
+            usedTypes.add(view.getController().getClass());
+            controllerTypes.add(view.getController().getClass());
+        }
+        var pending = new ArrayDeque<Object>();
+        if (view.getRoot() != null) {
+            pending.add(view.getRoot());
+        }
+        while (!pending.isEmpty()) {
+            var node = pending.poll();
+            usedTypes.add(node.getClass());
+            elementTypes.add(node.getClass());
+            if (node instanceof Parent parent) {
+                pending.addAll(parent.getChildrenUnmodifiable());
+            }
+        }
+    }
+
+    @Override
+    public void onViewElement(Class<?> type) {
+        usedTypes.add(type);
+        elementTypes.add(type);
+    }
+
+    /**
+     * @return the names of all recorded classes in the AppCDS class list format, i.e. internal names sorted
+     * alphabetically
+     */
+    public List<String> getClassList() {
+        return usedTypes.stream().filter(type -> !type.isHidden() && !type.isArray()).map(type -> type.getName().replace('.', '/')).sorted().toList();
+    }
+
+    /**
+     * Get the GraalVM reflection configuration of all recorded classes, which allows the container to discover and
+     * call the injection constructors and the {@link javafx.fxml.FXMLLoader} to create the recorded views.
+     *
+     * @return the reflection configuration in JSON format
+     */
+    public String getReflectConfig() {
+        var types = new TreeMap<String, Class<?>>();
+        instantiatedTypes.forEach(type -> types.put(type.getName(), type));
+        controllerTypes.forEach(type -> types.put(type.getName(), type));
+        elementTypes.forEach(type -> types.put(type.getName(), type));
+
+        var entries = new ArrayList<String>();
+        for (var type : types.values()) {
+            var properties = new ArrayList<String>();
+            properties.add("\"name\": \"" + type.getName() + "\"");
+            if (instantiatedTypes.contains(type)) {
+                properties.add("\"queryAllPublicConstructors\": true");
+            }
+            if (controllerTypes.contains(type) || instantiatedTypes.contains(type) && !DependencyContainer.isInjectable(type)) {
+                properties.add("\"allDeclaredFields\": true");
+                properties.add("\"allDeclaredMethods\": true");
+            }
+            if (elementTypes.contains(type)) {
+                properties.add("\"allPublicConstructors\": true");
+                properties.add("\"allPublicMethods\": true");
+            }
+            if (instantiatedTypes.contains(type)) {
+                var methods = methods(type);
+                if (!methods.isEmpty()) {
+                    properties.add("\"methods\": [\n      " + String.join(",\n      ", methods) + "\n    ]");
+                }
+            }
+            entries.add("  {\n    " + String.join(",\n    ", properties) + "\n  }");
+        }
+        return "[\n" + String.join(",\n", entries) + "\n]\n";
+    }
+
+    /**
+     * Helper method to describe the injection constructor, the {@link Initialize} and the {@link Dispose} methods of an
+     * instantiated class.
+     *
+     * @param type the instantiated class
+     * @return the JSON objects of the methods, or an empty list if the class is created by a generated factory
+     */
+    private static List<String> methods(Class<?> type) {
+        var plan = InjectionPlan.of(type);
+        var methods = new ArrayList<String>();
+        if (plan.getConstructor() != null) {
+            methods.add(method("<init>", plan.getConstructor().getParameterTypes()));
+        }
+        for (Method method : plan.getInitializeMethods()) {
+            methods.add(method(method.getName(), method.getParameterTypes()));
+        }
+        for (Method method : plan.getDisposeMethods()) {
+            methods.add(method(method.getName(), method.getParameterTypes()));
+        }
+        return methods;
+    }
+
+    /**
+     * Helper method to describe a method of the reflection configuration.
+     *
+     * @param name           the name of the method
+     * @param parameterTypes the parameter types of the method
+     * @return the JSON object of the method
+     */
+    private static String method(String name, Class<?>[] parameterTypes) {
+        var parameters = Arrays.stream(parameterTypes).map(parameterType -> "\"" + parameterType.getName() + "\"").collect(Collectors.joining(", "));
+        return "{\"name\": \"" + name + "\", \"parameterTypes\": [" + parameters + "]}";
+    }
+
+    /**
+     * Write the class list and the reflection configuration to a directory, replacing existing files.
+     *
+     * @param directory the output directory, which is created if it does not exist
+     * @throws RuntimeException if the files cannot be written
+     */
+    public void write(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve(CLASS_LIST), getClassList());
+            Files.writeString(directory.resolve(REFLECT_CONFIG), getReflectConfig());
+        } catch (IOException e) {
+            throw new RuntimeException("The startup metadata cannot be written to " + directory + ".", e);
+        }
+    }
+}
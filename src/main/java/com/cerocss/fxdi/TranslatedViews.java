@@ -0,0 +1,195 @@
+package com.cerocss.fxdi;
+
+import javafx.beans.property.StringProperty;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Registry of the translated texts of loaded views, so that a new language can be applied to them without loading the
+ * fxml files again. Translated texts are found by comparing the text properties of the loaded nodes with the
+ * translations that were looked up while loading. Besides the scene graph, the contents of controls that are not
+ * skinned yet, e.g. of scroll panes, titled panes, split panes and tab panes, as well as tabs, menu items, tooltips,
+ * context menus and graphics are searched. Texts whose translation is shared by multiple keys are ignored. Views are
+ * only referenced weakly.
+ */
+final class TranslatedViews {
+
+    /**
+     * Public text properties of a class, each consisting of the getter and the property method. The getter is used to
+     * compare the current text first, so that lazily created properties are not created unnecessarily.
+     */
+    private static final ClassValue<List<Method[]>> TEXT_PROPERTIES = new ClassValue<>() {
+        @Override
+        protected List<Method[]> computeValue(Class<?> type) {
+            var getters = new HashMap<String, Method>();
+            for (var method : type.getMethods()) {
+                if (method.getParameterCount() == 0 && method.getReturnType() == String.class && !Modifier.isStatic(method.getModifiers())) {
+                    getters.put(method.getName(), method);
+                }
+            }
+            var properties = new ArrayList<Method[]>();
+            for (var method : type.getMethods()) {
+                var name = method.getName();
+                if (!name.endsWith("Property") || method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())
+                        || !StringProperty.class.isAssignableFrom(method.getReturnType())) {
+                    continue;
+                }
+                var propertyName = name.substring(0, name.length() - "Property".length());
+                if (propertyName.isEmpty()) {
+                    continue;
+                }
+                var getter = getters.get("get" + Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1));
+                if (getter != null) {
+                    properties.add(new Method[]{getter, method});
+                }
+            }
+            return List.copyOf(properties);
+        }
+    };
+
+    /**
+     * Names of the getters of objects that are not part of the scene graph, e.g. the content of controls that are not
+     * skinned yet, tabs, menu items and tooltips.
+     */
+    private static final Set<String> CONTENT_GETTERS = Set.of("getContent", "getItems", "getTabs", "getPanes", "getMenus",
+            "getTooltip", "getContextMenu", "getGraphic");
+
+    /**
+     * Public content getters of a class, whose results are searched for translated texts as well.
+     */
+    private static final ClassValue<List<Method>> CONTENT_PROPERTIES = new ClassValue<>() {
+        @Override
+        protected List<Method> computeValue(Class<?> type) {
+            return Arrays.stream(type.getMethods())
+                    .filter(method -> CONTENT_GETTERS.contains(method.getName()) && method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers()))
+                    .toList();
+        }
+    };
+
+    /**
+     * The translated text properties of all tracked views.
+     */
+    private final List<Translation> translations = new ArrayList<>();
+
+    /**
+     * Find the translated text properties of a loaded view. The translations of reclaimed views are dropped at the
+     * same time, so that views that are loaded repeatedly do not accumulate them until the next language is applied.
+     *
+     * @param root                 the root of the loaded view
+     * @param recordedTranslations the translations looked up while loading, associated with their key
+     */
+    void track(Object root, Map<String, String> recordedTranslations) {
+        if (root == null || recordedTranslations.isEmpty()) {
+            return;
+        }
+
+        var keysByText = new HashMap<String, String>();
+        var ambiguousTexts = new HashSet<String>();
+        recordedTranslations.forEach((key, text) -> {
+            if (keysByText.putIfAbsent(text, key) != null) {
+                ambiguousTexts.add(text);
+            }
+        });
+        ambiguousTexts.forEach(keysByText::remove);
+
+        var found = new ArrayList<Translation>();
+        var visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        var pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            var object = pending.pop();
+            if (!visited.add(object)) {
+                continue;
+            }
+            for (var property : TEXT_PROPERTIES.get(object.getClass())) {
+                var key = keysByText.get(invoke(property[0], object));
+                if (key != null && invoke(property[1], object) instanceof StringProperty textProperty) {
+                    found.add(new Translation(new WeakReference<>(textProperty), key));
+                }
+            }
+            if (object instanceof Parent parent) {
+                parent.getChildrenUnmodifiable().forEach(pending::push);
+            }
+            for (var content : CONTENT_PROPERTIES.get(object.getClass())) {
+                var value = invoke(content, object);
+                if (value instanceof Collection<?> elements) {
+                    elements.stream().filter(TranslatedViews::isViewObject).forEach(pending::push);
+                } else if (isViewObject(value)) {
+                    pending.push(value);
+                }
+            }
+        }
+
+        synchronized (translations) {
+            removeReclaimed();
+            translations.addAll(found);
+        }
+    }
+
+    /**
+     * Apply the translations of a resource bundle to all tracked views that are still referenced. Has to be called on
+     * the JavaFX Application Thread if the views are shown.
+     *
+     * @param resourceBundle the resource bundle to apply
+     */
+    void apply(ResourceBundle resourceBundle) {
+        synchronized (translations) {
+            removeReclaimed();
+            for (var translation : translations) {
+                var property = translation.property().get();
+                if (property != null && !property.isBound() && resourceBundle.containsKey(translation.key())) {
+                    property.set(resourceBundle.getString(translation.key()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method to drop the translations whose text property was reclaimed. Has to be called while holding the lock
+     * of the translations.
+     */
+    private void removeReclaimed() {
+        translations.removeIf(translation -> translation.property().get() == null);
+    }
+
+    /**
+     * Helper method to check whether a content object belongs to the view, so that the items of lists and tables,
+     * which are usually models of the application, are not searched.
+     *
+     * @param object the content object
+     * @return true if the object is a node or a JavaFX class like a tab or menu item
+     */
+    private static boolean isViewObject(Object object) {
+        return object instanceof Node || object != null && object.getClass().getName().startsWith("javafx.");
+    }
+
+    /**
+     * Helper method to invoke a method without arguments, ignoring methods that are not accessible.
+     *
+     * @param method the method to invoke
+     * @param object the object to invoke the method on
+     * @return the result of the method or null if it cannot be invoked
+     */
+    private static Object invoke(Method method, Object object) {
+        try {
+            return method.invoke(object);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A tracked translated text property.
+     *
+     * @param property the weakly referenced text property
+     * @param key      the key of the translation
+     */
+    private record Translation(WeakReference<StringProperty> property, String key) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.cerocss.fxdi;
+
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+/**
+ * Resource bundle that delegates to another bundle and records every translation that is looked up, so that the
+ * translated texts of a loaded fxml file can be associated with their keys.
+ */
+final class TranslationRecorder extends ResourceBundle {
+
+    /**
+     * The bundle providing the translations.
+     */
+    private final ResourceBundle delegate;
+
+    /**
+     * The translations looked up so far, associated with their key.
+     */
+    private final Map<String, String> recordedTranslations = new HashMap<>();
+
+    /**
+     * Initializes a new recorder for the given bundle.
+     *
+     * @param delegate the bundle providing the translations
+     */
+    TranslationRecorder(ResourceBundle delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Looks up the translation in the delegate and records it if it is a text.
+     *
+     * @param key the key for the desired object
+     * @return the translation of the delegate
+     */
+    @Override
+    protected Object handleGetObject(String key) {
+        var translation = delegate.getObject(key);
+        if (translation instanceof String text) {
+            synchronized (recordedTranslations) {
+                recordedTranslations.put(key, text);
+            }
+        }
+        return translation;
+    }
+
+    /**
+     * @return the keys of the delegate
+     */
+    @Override
+    public Enumeration<String> getKeys() {
+        return delegate.getKeys();
+    }
+
+    /**
+     * @return a copy of the translations looked up so far, associated with their key
+     */
+    Map<String, String> getRecordedTranslations() {
+        synchronized (recordedTranslations) {
+            return Map.copyOf(recordedTranslations);
+        }
+    }
+}
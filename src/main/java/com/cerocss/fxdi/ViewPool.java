@@ -0,0 +1,103 @@
+package com.cerocss.fxdi;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pools of released views, one per fxml file, so that repeatedly loaded views, e.g. of list cells, can be reused
+ * instead of being loaded again. Only fxml files with a configured maximum size are pooled. The urls are compared by
+ * their external form to avoid host name resolution.
+ */
+final class ViewPool {
+
+    /**
+     * Released views associated with the external form of their url.
+     */
+    private final Map<String, Deque<LoadedView<?>>> idleViews = new HashMap<>();
+
+    /**
+     * Maximum amount of released views associated with the external form of their url.
+     */
+    private final Map<String, Integer> maximumSizes = new HashMap<>();
+
+    /**
+     * Set the maximum amount of released views of a fxml file, dropping the views exceeding it.
+     *
+     * @param url         the url of the fxml file
+     * @param maximumSize the maximum amount of pooled views, or 0 to disable pooling of the file
+     */
+    synchronized void setMaximumSize(URL url, int maximumSize) {
+        var key = url.toExternalForm();
+        if (maximumSize > 0) {
+            maximumSizes.put(key, maximumSize);
+        } else {
+            maximumSizes.remove(key);
+        }
+
+        var views = idleViews.get(key);
+        while (views != null && views.size() > maximumSize) {
+            views.removeLast();
+        }
+    }
+
+    /**
+     * Take a released view of a fxml file out of the pool.
+     *
+     * @param url the url of the fxml file
+     * @param <T> type of the fxml parent
+     * @return the most recently released view or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T> LoadedView<T> poll(URL url) {
+        var views = idleViews.get(url.toExternalForm());
+        return views == null ? null : (LoadedView<T>) views.pollFirst();
+    }
+
+    /**
+     * Return a view to the pool of its fxml file.
+     *
+     * @param view the released view
+     * @return true if the view was pooled, false if the pool is full, the file is not pooled or the view is already
+     * pooled
+     */
+    synchronized boolean offer(LoadedView<?> view) {
+        if (missing(view.getUrl()) <= 0 || contains(view)) {
+            return false;
+        }
+        idleViews.computeIfAbsent(view.getUrl().toExternalForm(), key -> new ArrayDeque<>()).addFirst(view);
+        return true;
+    }
+
+    /**
+     * Check whether a view is pooled already, comparing views by identity.
+     *
+     * @param view the view to check
+     * @return true if the view is in the pool of its fxml file
+     */
+    synchronized boolean contains(LoadedView<?> view) {
+        var views = idleViews.get(view.getUrl().toExternalForm());
+        return views != null && views.stream().anyMatch(pooled -> pooled == view);
+    }
+
+    /**
+     * Get the amount of views that can be added to the pool of a fxml file.
+     *
+     * @param url the url of the fxml file
+     * @return the difference between the maximum and the current amount of pooled views
+     */
+    synchronized int missing(URL url) {
+        var key = url.toExternalForm();
+        var views = idleViews.get(key);
+        return maximumSizes.getOrDefault(key, 0) - (views == null ? 0 : views.size());
+    }
+
+    /**
+     * Drop all pooled views, keeping the maximum sizes.
+     */
+    synchronized void clear() {
+        idleViews.clear();
+    }
+}
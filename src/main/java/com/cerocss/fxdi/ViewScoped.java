@@ -0,0 +1,16 @@
+package com.cerocss.fxdi;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks injected classes whose instance is shared by all controllers created while loading a single fxml file with the
+ * {@link FXDILoader}, including the controllers of included files. Every load creates new instances, which are not
+ * disposed and dropped together with the view. {@link Singleton} and {@link Scoped} classes must not depend on view
+ * scoped classes, and view scoped classes cannot be created outside of loading a view. As they are never disposed, view
+ * scoped classes must neither declare {@link Dispose} methods nor be {@link AutoCloseable}.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ViewScoped {
+}
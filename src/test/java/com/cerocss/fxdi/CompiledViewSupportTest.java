@@ -0,0 +1,97 @@
+package com.cerocss.fxdi;
+
+import javafx.event.Event;
+import javafx.fxml.FXML;
+import javafx.scene.Group;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the reflective access to private controller members by {@link CompiledViewSupport}.
+ */
+public class CompiledViewSupportTest {
+
+    @Test
+    void shouldInjectPrivateField() {
+        // given
+        var controller = new PrivateController();
+        var shape = new Rectangle();
+
+        // when
+        CompiledViewSupport.inject(controller, "shape", shape);
+
+        // then
+        Assertions.assertSame(shape, controller.getShape());
+    }
+
+    @Test
+    void shouldInvokePrivateInitialize() {
+        // given
+        var controller = new PrivateController();
+
+        // when
+        CompiledViewSupport.invoke(controller, "initialize");
+
+        // then
+        Assertions.assertEquals(List.of("initialize"), controller.calls);
+    }
+
+    @Test
+    void shouldCallPrivateHandlers() {
+        // given
+        var controller = new PrivateController();
+        var event = new Event();
+
+        // when
+        CompiledViewSupport.handler(controller, "handle").handle(event);
+        CompiledViewSupport.handler(controller, "refresh").handle(event);
+
+        // then
+        Assertions.assertEquals(List.of("handle", "refresh"), controller.calls);
+        Assertions.assertSame(event, controller.handled);
+    }
+
+    @Test
+    void shouldReportMissingMember() {
+        // when
+        var exception = Assertions.assertThrows(RuntimeException.class, () -> CompiledViewSupport.invoke(new PrivateController(), "clone"));
+
+        // then
+        Assertions.assertEquals(PrivateController.class.getName() + ".clone does not exist.", exception.getMessage());
+    }
+
+    /**
+     * Example fx:root controller extending a JavaFX class with private members annotated as {@link FXML}.
+     */
+    public static class PrivateController extends Group {
+        final List<String> calls = new ArrayList<>();
+        Event handled;
+
+        @FXML
+        private Rectangle shape;
+
+        public Rectangle getShape() {
+            return shape;
+        }
+
+        @FXML
+        private void initialize() {
+            calls.add("initialize");
+        }
+
+        @FXML
+        private void handle(Event event) {
+            calls.add("handle");
+            handled = event;
+        }
+
+        @FXML
+        private void refresh() {
+            calls.add("refresh");
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests child containers holding {@link Scoped} instances.
+ */
+public class DependencyContainerChildTest {
+
+    private DependencyContainer dependencyContainer;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+    }
+
+    @Test
+    void shouldShareSingletonsWithParent() {
+        // given
+        var parentController = (SingletonController) dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+
+        // when
+        var childController = (SingletonController) dependencyContainer.createChild().getOrCreateInjectableTypes(SingletonController.class);
+
+        // then
+        Assertions.assertSame(parentController.singletonModel, childController.singletonModel);
+    }
+
+    @Test
+    void shouldCreateSingletonsInRootContainer() {
+        // given
+        var child = dependencyContainer.createChild().createChild();
+
+        // when
+        var res = (ScopedController) child.getOrCreateInjectableTypes(ScopedController.class);
+
+        // then
+        Assertions.assertSame(res.singletonModel, dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class));
+        Assertions.assertSame(res.singletonModel, res.scopedModel.singletonModel);
+    }
+
+    @Test
+    void shouldHoldScopedInstancesPerChild() {
+        // given
+        var first = dependencyContainer.createChild();
+        var second = dependencyContainer.createChild();
+
+        // when
+        var firstController = (ScopedController) first.getOrCreateInjectableTypes(ScopedController.class);
+        var secondController = (ScopedController) second.getOrCreateInjectableTypes(ScopedController.class);
+
+        // then
+        Assertions.assertSame(firstController.scopedModel, first.getOrCreateInjectableTypes(ScopedModel.class));
+        Assertions.assertNotSame(firstController.scopedModel, secondController.scopedModel);
+        Assertions.assertSame(firstController.singletonModel, secondController.singletonModel);
+    }
+
+    @Test
+    void shouldFindRegistrationsOfParentMadeAfterCreatingChild() {
+        // given
+        var child = dependencyContainer.createChild().createChild();
+        var prototype = child.getOrCreateInjectableTypes(PrototypeModel.class);
+        var model = new NotSingletonModel();
+        dependencyContainer.registerSingletonManually(model);
+
+        // when
+        var res = (NotSingletonController) child.getOrCreateInjectableTypes(NotSingletonController.class);
+
+        // then
+        Assertions.assertSame(model, res.notSingletonModel);
+        Assertions.assertNotSame(prototype, child.getOrCreateInjectableTypes(PrototypeModel.class));
+    }
+
+    @Test
+    void shouldFindReplacedRegistrationsOfParent() {
+        // given
+        var child = dependencyContainer.createChild();
+        dependencyContainer.registerSingletonManually(new NotSingletonModel());
+        child.getOrCreateInjectableTypes(NotSingletonModel.class);
+        var model = new NotSingletonModel();
+
+        // when
+        dependencyContainer.registerSingletonManually(model);
+
+        // then
+        Assertions.assertSame(model, child.getOrCreateInjectableTypes(NotSingletonModel.class));
+    }
+
+    @Test
+    void shouldNotKeepEvictedSingletonsOfParent() {
+        // given
+        var child = dependencyContainer.createChild();
+        var before = child.getOrCreateInjectableTypes(SingletonModel.class);
+
+        // when
+        dependencyContainer.evict(SingletonModel.class);
+
+        // then
+        Assertions.assertNotSame(before, child.getOrCreateInjectableTypes(SingletonModel.class));
+    }
+
+    @Test
+    void shouldRebindControllersOfChildAfterParentRegistration() {
+        // given
+        var child = dependencyContainer.createChild();
+        dependencyContainer.registerSingletonManually(new NotSingletonModel());
+        child.getOrCreateInjectableTypes(NotSingletonController.class);
+        var model = new NotSingletonModel();
+
+        // when
+        dependencyContainer.registerSingletonManually(model);
+
+        // then
+        var res = (NotSingletonController) child.getOrCreateInjectableTypes(NotSingletonController.class);
+        Assertions.assertSame(model, res.notSingletonModel);
+    }
+
+    @Test
+    void shouldRebindControllersOfChildAfterParentEviction() {
+        // given
+        var child = dependencyContainer.createChild();
+        var before = (SingletonController) child.getOrCreateInjectableTypes(SingletonController.class);
+
+        // when
+        dependencyContainer.evict(SingletonModel.class);
+
+        // then
+        var after = (SingletonController) child.getOrCreateInjectableTypes(SingletonController.class);
+        Assertions.assertNotSame(before.singletonModel, after.singletonModel);
+        Assertions.assertSame(after.singletonModel, dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class));
+    }
+
+    @Test
+    void shouldRebindControllersOfChildAfterParentClose() {
+        // given
+        var child = dependencyContainer.createChild();
+        var before = (SingletonController) child.getOrCreateInjectableTypes(SingletonController.class);
+
+        // when
+        dependencyContainer.close();
+
+        // then
+        var after = (SingletonController) child.getOrCreateInjectableTypes(SingletonController.class);
+        Assertions.assertNotSame(before.singletonModel, after.singletonModel);
+        Assertions.assertSame(after.singletonModel, dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class));
+    }
+
+    @Test
+    void shouldPreferRegistrationsOfChild() {
+        // given
+        var parentModel = new NotSingletonModel();
+        var childModel = new NotSingletonModel();
+        dependencyContainer.registerSingletonManually(parentModel);
+        var child = dependencyContainer.createChild();
+        child.registerSingletonManually(childModel);
+
+        // when
+        var res = (NotSingletonController) child.getOrCreateInjectableTypes(NotSingletonController.class);
+
+        // then
+        Assertions.assertSame(childModel, res.notSingletonModel);
+        Assertions.assertSame(parentModel, dependencyContainer.getOrCreateInjectableTypes(NotSingletonModel.class));
+    }
+
+    @Test
+    void shouldDropScopedInstancesOnClose() {
+        // given
+        var child = dependencyContainer.createChild();
+        var before = (ScopedController) child.getOrCreateInjectableTypes(ScopedController.class);
+
+        // when
+        child.close();
+
+        // then
+        var after = (ScopedController) child.getOrCreateInjectableTypes(ScopedController.class);
+        Assertions.assertNotSame(before.scopedModel, after.scopedModel);
+        Assertions.assertSame(before.singletonModel, after.singletonModel);
+    }
+
+    @Test
+    void shouldFailSingletonDependingOnScoped() {
+        var child = dependencyContainer.createChild();
+
+        var error = Assertions.assertThrows(RuntimeException.class, () -> child.getOrCreateInjectableTypes(ScopedDependentSingletonModel.class));
+        Assertions.assertEquals("com.cerocss.fxdi.ExampleClasses$ScopedDependentSingletonModel is a Singleton and cannot depend on com.cerocss.fxdi.ExampleClasses$ScopedModel, which is Scoped.", error.getMessage());
+    }
+}
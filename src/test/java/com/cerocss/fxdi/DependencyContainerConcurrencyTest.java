@@ -0,0 +1,93 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the usage of a single {@link DependencyContainer} from multiple threads.
+ */
+public class DependencyContainerConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    private DependencyContainer dependencyContainer;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+        SlowSingletonModel.INSTANCES.set(0);
+    }
+
+    @Test
+    void shouldCreateSingletonOnceUnderContention() throws Exception {
+        // given
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<Object>>();
+
+        // when
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return dependencyContainer.getOrCreateInjectableTypes(SlowSingletonController.class);
+                }));
+            }
+            start.countDown();
+
+            // then
+            var model = ((SlowSingletonController) futures.getFirst().get(5, TimeUnit.SECONDS)).slowSingletonModel;
+            for (var future : futures) {
+                Assertions.assertSame(model, ((SlowSingletonController) future.get(5, TimeUnit.SECONDS)).slowSingletonModel);
+            }
+            Assertions.assertEquals(1, SlowSingletonModel.INSTANCES.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotBindReplacedRegistrationsUnderContention() throws Exception {
+        // given
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var registered = new AtomicBoolean();
+        var futures = new ArrayList<Future<?>>();
+        var model = new NotSingletonModel();
+        dependencyContainer.registerSingletonManually(new NotSingletonModel());
+
+        // when
+        try {
+            for (int i = 0; i < THREADS - 1; i++) {
+                futures.add(executor.submit(() -> {
+                    while (!registered.get()) {
+                        dependencyContainer.getOrCreateInjectableTypes(NotSingletonController.class);
+                    }
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    dependencyContainer.registerSingletonManually(new NotSingletonModel());
+                    Thread.onSpinWait();
+                }
+                dependencyContainer.registerSingletonManually(model);
+                registered.set(true);
+            }));
+            for (var future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            // then
+            var res = (NotSingletonController) dependencyContainer.getOrCreateInjectableTypes(NotSingletonController.class);
+            Assertions.assertSame(model, res.notSingletonModel);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
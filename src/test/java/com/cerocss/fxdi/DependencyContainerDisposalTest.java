@@ -0,0 +1,111 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the disposal and eviction of singletons created by the {@link DependencyContainer}.
+ */
+public class DependencyContainerDisposalTest {
+
+    private DependencyContainer dependencyContainer;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+        CloseableSingletonModel.DISPOSALS.clear();
+    }
+
+    @Test
+    void shouldDisposeInReverseCreationOrder() {
+        // given
+        var before = (DisposableController) dependencyContainer.getOrCreateInjectableTypes(DisposableController.class);
+
+        // when
+        dependencyContainer.close();
+
+        // then
+        Assertions.assertEquals(List.of("DisposableSingletonModel", "CloseableSingletonModel"), CloseableSingletonModel.DISPOSALS);
+        var after = (DisposableController) dependencyContainer.getOrCreateInjectableTypes(DisposableController.class);
+        Assertions.assertNotSame(before.disposableSingletonModel, after.disposableSingletonModel);
+    }
+
+    @Test
+    void shouldNotDisposeManuallyRegisteredSingletons() {
+        // given
+        dependencyContainer.registerSingletonManually(new CloseableSingletonModel());
+        dependencyContainer.getOrCreateInjectableTypes(DisposableController.class);
+
+        // when
+        dependencyContainer.close();
+
+        // then
+        Assertions.assertEquals(List.of("DisposableSingletonModel"), CloseableSingletonModel.DISPOSALS);
+    }
+
+    @Test
+    void shouldKeepManuallyRegisteredSingletonsOnClose() {
+        // given
+        var registered = new NotSingletonModel();
+        dependencyContainer.registerSingletonManually(registered);
+        dependencyContainer.freeze(List.of(SingletonController.class));
+
+        // when
+        dependencyContainer.close();
+
+        // then
+        Assertions.assertSame(registered, dependencyContainer.getOrCreateInjectableTypes(NotSingletonModel.class));
+        Assertions.assertSame(dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class), dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class));
+    }
+
+    @Test
+    void shouldContinueDisposalAfterFailure() {
+        // given
+        dependencyContainer.getOrCreateInjectableTypes(FailingDisposalController.class);
+
+        // when
+        var error = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.close());
+
+        // then
+        Assertions.assertEquals("com.cerocss.fxdi.ExampleClasses$FailingDisposalSingletonModel cannot be disposed.", error.getMessage());
+        Assertions.assertEquals(List.of("DisposableSingletonModel", "CloseableSingletonModel"), CloseableSingletonModel.DISPOSALS);
+    }
+
+    @Test
+    void shouldEvictSingletonWithDependents() {
+        // given
+        var before = (DisposableController) dependencyContainer.getOrCreateInjectableTypes(DisposableController.class);
+        var singletonController = (SingletonController) dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+
+        // when
+        dependencyContainer.evict(CloseableSingletonModel.class);
+
+        // then
+        Assertions.assertEquals(List.of("DisposableSingletonModel", "CloseableSingletonModel"), CloseableSingletonModel.DISPOSALS);
+        var after = (DisposableController) dependencyContainer.getOrCreateInjectableTypes(DisposableController.class);
+        Assertions.assertNotSame(before.disposableSingletonModel, after.disposableSingletonModel);
+        Assertions.assertNotSame(before.disposableSingletonModel.closeableSingletonModel, after.disposableSingletonModel.closeableSingletonModel);
+        var otherController = (SingletonController) dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+        Assertions.assertSame(singletonController.singletonModel, otherController.singletonModel);
+    }
+
+    @Test
+    void shouldEvictDependentsOfManualRegistration() {
+        // given
+        dependencyContainer.registerSingletonManually(new CloseableSingletonModel());
+        var before = (DisposableController) dependencyContainer.getOrCreateInjectableTypes(DisposableController.class);
+
+        // when
+        dependencyContainer.evict(CloseableSingletonModel.class);
+
+        // then
+        Assertions.assertEquals(List.of("DisposableSingletonModel"), CloseableSingletonModel.DISPOSALS);
+        var after = (DisposableController) dependencyContainer.getOrCreateInjectableTypes(DisposableController.class);
+        Assertions.assertNotSame(before.disposableSingletonModel, after.disposableSingletonModel);
+    }
+}
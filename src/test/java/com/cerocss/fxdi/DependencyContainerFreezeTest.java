@@ -0,0 +1,94 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests freezing the {@link DependencyContainer} after startup.
+ */
+public class DependencyContainerFreezeTest {
+
+    private DependencyContainer dependencyContainer;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+        SlowSingletonModel.INSTANCES.set(0);
+    }
+
+    @Test
+    void shouldShareSingletonsAfterFreezing() {
+        // when
+        dependencyContainer.freeze(List.of(SingletonController.class, NestedSingletonController.class));
+
+        // then
+        Assertions.assertTrue(dependencyContainer.isFrozen());
+        var first = (SingletonController) dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+        var second = (NestedSingletonController) dependencyContainer.getOrCreateInjectableTypes(NestedSingletonController.class);
+        Assertions.assertSame(first.singletonModel, second.nestedSingletonModel.singletonModel);
+    }
+
+    @Test
+    void shouldCreateLazyTargetsBeforeFreezing() {
+        // when
+        dependencyContainer.freeze(List.of(LazySingletonController.class));
+
+        // then
+        Assertions.assertEquals(1, SlowSingletonModel.INSTANCES.get());
+        var res = (LazySingletonController) dependencyContainer.getOrCreateInjectableTypes(LazySingletonController.class);
+        Assertions.assertNotNull(res.slowSingletonModel.get());
+    }
+
+    @Test
+    void shouldReportAllConfigurationErrors() {
+        // when
+        var error = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.freeze(List.of(NotSingletonController.class, SingletonController.class, CircularController.class)));
+
+        // then
+        Assertions.assertEquals("The container cannot be frozen. com.cerocss.fxdi.ExampleClasses$NotSingletonModel is not marked as Singleton. Constructors of injected classes that are not manually registered are only allowed to contain singletons. com.cerocss.fxdi.ExampleClasses$CircularModel has circular dependencies. Visited classes: [com.cerocss.fxdi.ExampleClasses$CircularController, com.cerocss.fxdi.ExampleClasses$CircularModel] already contains: com.cerocss.fxdi.ExampleClasses$CircularModel.", error.getMessage());
+        Assertions.assertEquals(2, error.getSuppressed().length);
+        Assertions.assertFalse(dependencyContainer.isFrozen());
+    }
+
+    @Test
+    void shouldRejectManualRegistration() {
+        // given
+        dependencyContainer.freeze(List.of());
+
+        // when
+        var error = Assertions.assertThrows(IllegalStateException.class, () -> dependencyContainer.registerSingletonManually(new NotSingletonModel()));
+
+        // then
+        Assertions.assertEquals("The container is frozen. com.cerocss.fxdi.ExampleClasses$NotSingletonModel cannot be registered anymore.", error.getMessage());
+    }
+
+    @Test
+    void shouldRejectSingletonsCreatedAfterFreezing() {
+        // given
+        dependencyContainer.freeze(List.of(SingletonController.class));
+
+        // when
+        var error = Assertions.assertThrows(IllegalStateException.class, () -> dependencyContainer.getOrCreateInjectableTypes(NestedSingletonController.class));
+
+        // then
+        Assertions.assertEquals("com.cerocss.fxdi.ExampleClasses$NestedSingletonModel was not created before the container was frozen.", error.getMessage());
+    }
+
+    @Test
+    void shouldAcceptRegistrationsAfterClosing() {
+        // given
+        dependencyContainer.freeze(List.of(SingletonController.class));
+
+        // when
+        dependencyContainer.close();
+
+        // then
+        Assertions.assertFalse(dependencyContainer.isFrozen());
+        Assertions.assertDoesNotThrow(() -> dependencyContainer.registerSingletonManually(new NotSingletonModel()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the eager creation of singletons using the injectable index.
+ */
+public class DependencyContainerIndexTest {
+
+    private DependencyContainer dependencyContainer;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+        SlowSingletonModel.INSTANCES.set(0);
+    }
+
+    @Test
+    void shouldReadIndexedTypes() {
+        Assertions.assertEquals(List.of(SlowSingletonController.class, SingletonModel.class), DependencyContainer.getIndexedTypes());
+    }
+
+    @Test
+    void shouldCreateIndexedSingletons() {
+        // when
+        dependencyContainer.warmUpIndexed(Runnable::run).join();
+
+        // then
+        Assertions.assertEquals(1, SlowSingletonModel.INSTANCES.get());
+        var res = (SingletonController) dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+        Assertions.assertSame(res.singletonModel, dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class));
+    }
+}
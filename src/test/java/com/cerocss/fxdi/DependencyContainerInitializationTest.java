@@ -0,0 +1,115 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the asynchronous initialization of singletons and awaiting their readiness.
+ */
+public class DependencyContainerInitializationTest {
+
+    private DependencyContainer dependencyContainer;
+    private List<Runnable> pendingTasks;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+        pendingTasks = new ArrayList<>();
+        dependencyContainer.setInitializationExecutor(pendingTasks::add);
+    }
+
+    @Test
+    void shouldStartInitializationAfterConstruction() {
+        // when
+        var res = (AsyncInitializedModel) dependencyContainer.getOrCreateInjectableTypes(AsyncInitializedModel.class);
+
+        // then
+        Assertions.assertEquals(1, res.initializations.get());
+        Assertions.assertFalse(dependencyContainer.whenReady(List.of(AsyncInitializedModel.class)).isDone());
+        Assertions.assertEquals(1, res.initializations.get());
+    }
+
+    @Test
+    void shouldAwaitInitializationOfAllDependencies() {
+        // given
+        var future = dependencyContainer.whenReady(List.of(InitializedController.class));
+        var asyncModel = (AsyncInitializedModel) dependencyContainer.getOrCreateInjectableTypes(AsyncInitializedModel.class);
+        var blockingModel = (BlockingInitializedModel) dependencyContainer.getOrCreateInjectableTypes(BlockingInitializedModel.class);
+
+        // when
+        pendingTasks.forEach(Runnable::run);
+
+        // then
+        Assertions.assertEquals(1, asyncModel.initializations.get());
+        Assertions.assertTrue(blockingModel.initialized);
+        Assertions.assertFalse(future.isDone());
+
+        // when
+        asyncModel.loaded.complete(null);
+
+        // then
+        Assertions.assertTrue(future.isDone());
+        Assertions.assertFalse(future.isCompletedExceptionally());
+    }
+
+    @Test
+    void shouldInitializeAfterDependencies() {
+        // given
+        var res = (DependentInitializedModel) dependencyContainer.getOrCreateInjectableTypes(DependentInitializedModel.class);
+        pendingTasks.forEach(Runnable::run);
+        pendingTasks.clear();
+
+        // when
+        var initializedBefore = res.initialized;
+        res.asyncInitializedModel.loaded.complete(null);
+        pendingTasks.forEach(Runnable::run);
+
+        // then
+        Assertions.assertFalse(initializedBefore);
+        Assertions.assertTrue(res.initialized);
+        Assertions.assertTrue(res.dependencyLoaded);
+    }
+
+    @Test
+    void shouldInitializeOnDefaultExecutor() {
+        // given
+        dependencyContainer.setInitializationExecutor(null);
+
+        // when
+        dependencyContainer.whenReady(List.of(BlockingInitializedModel.class)).join();
+
+        // then
+        Assertions.assertTrue(((BlockingInitializedModel) dependencyContainer.getOrCreateInjectableTypes(BlockingInitializedModel.class)).initialized);
+    }
+
+    @Test
+    void shouldCompleteImmediatelyWithoutInitializations() {
+        // when
+        var res = dependencyContainer.whenReady(List.of(MultipleSingletonController.class));
+
+        // then
+        Assertions.assertTrue(res.isDone());
+        Assertions.assertNotNull(dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class));
+    }
+
+    @Test
+    void shouldReportFailedInitialization() {
+        // given
+        dependencyContainer.setInitializationExecutor(Runnable::run);
+
+        // when
+        var future = dependencyContainer.whenReady(List.of(FailingInitializedModel.class));
+
+        // then
+        var error = Assertions.assertThrows(CompletionException.class, future::join);
+        Assertions.assertEquals(FailingInitializedModel.class.getName() + " cannot be initialized.", error.getCause().getMessage());
+        Assertions.assertInstanceOf(IllegalStateException.class, error.getCause().getCause());
+    }
+}
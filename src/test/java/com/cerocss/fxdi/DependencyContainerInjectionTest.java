@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.cerocss.fxdi.ExampleClasses.*;
 
 
@@ -50,10 +53,41 @@ public class DependencyContainerInjectionTest {
         Assertions.assertInstanceOf(MultipleConstructorSingleAnnotationController.class, res);
     }
 
+    @Test
+    void shouldShareSingletonsAcrossRepeatedCreation() {
+        var first = (MultipleSingletonController) dependencyContainer.getOrCreateInjectableTypes(MultipleSingletonController.class);
+        var second = (MultipleSingletonController) dependencyContainer.getOrCreateInjectableTypes(MultipleSingletonController.class);
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertSame(first.singletonModel, second.singletonModel);
+        Assertions.assertSame(first.nestedSingletonModel, second.nestedSingletonModel);
+        Assertions.assertSame(first.singletonModel, first.nestedSingletonModel.singletonModel);
+    }
+
     @Test
     void shouldFailAbstractController() {
         var error = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.getOrCreateInjectableTypes(AbstractController.class));
         Assertions.assertEquals("com.cerocss.fxdi.ExampleClasses$AbstractController cannot be instantiated.", error.getMessage());
+        Assertions.assertInstanceOf(InstantiationException.class, error.getCause());
+    }
+
+    @Test
+    void shouldPropagateUncheckedConstructorException() {
+        var error = Assertions.assertThrows(IllegalStateException.class, () -> dependencyContainer.getOrCreateInjectableTypes(FailingSingletonModel.class));
+        Assertions.assertEquals("test", error.getMessage());
+    }
+
+    @Test
+    void shouldPropagateConstructorError() {
+        var error = Assertions.assertThrows(AssertionError.class, () -> dependencyContainer.getOrCreateInjectableTypes(ErrorFailingSingletonModel.class));
+        Assertions.assertEquals("test", error.getMessage());
+    }
+
+    @Test
+    void shouldWrapCheckedConstructorException() {
+        var error = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.getOrCreateInjectableTypes(CheckedFailingSingletonModel.class));
+        Assertions.assertEquals("com.cerocss.fxdi.ExampleClasses$CheckedFailingSingletonModel cannot be instantiated.", error.getMessage());
+        Assertions.assertInstanceOf(java.io.IOException.class, error.getCause());
     }
 
     @Test
@@ -68,6 +102,32 @@ public class DependencyContainerInjectionTest {
         Assertions.assertEquals("com.cerocss.fxdi.ExampleClasses$NotSingletonModel is not marked as Singleton. Constructors of injected classes that are not manually registered are only allowed to contain singletons.", error.getMessage());
     }
 
+    @Test
+    void shouldInjectSharedDependenciesOnce() {
+        // given
+        var constructed = new ArrayList<Class<?>>();
+        dependencyContainer.setInjectionListener(new InjectionListener() {
+            @Override
+            public void onConstructed(Class<?> type, long nanos) {
+                constructed.add(type);
+            }
+        });
+
+        // when
+        var res = (DiamondController) dependencyContainer.getOrCreateInjectableTypes(DiamondController.class);
+
+        // then
+        Assertions.assertEquals(List.of(SingletonModel.class, NestedSingletonModel.class, DiamondModel.class, DiamondController.class), constructed);
+        Assertions.assertSame(res.nestedSingletonModel, res.diamondModel.nestedSingletonModel);
+        Assertions.assertSame(res.nestedSingletonModel.singletonModel, res.diamondModel.singletonModel);
+    }
+
+    @Test
+    void shouldReportPathOfIndirectCircularDependency() {
+        var error = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.getOrCreateInjectableTypes(IndirectCircularController.class));
+        Assertions.assertEquals("com.cerocss.fxdi.ExampleClasses$IndirectCircularModel has circular dependencies. Visited classes: [com.cerocss.fxdi.ExampleClasses$IndirectCircularController, com.cerocss.fxdi.ExampleClasses$IndirectCircularModel, com.cerocss.fxdi.ExampleClasses$IndirectCircularDependentModel] already contains: com.cerocss.fxdi.ExampleClasses$IndirectCircularModel.", error.getMessage());
+    }
+
     @Test
     void shouldFailNoCircularModel() {
         var error = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.getOrCreateInjectableTypes(CircularController.class));
@@ -0,0 +1,62 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the injection of {@link Lazy} references to singletons.
+ */
+public class DependencyContainerLazyInjectionTest {
+
+    private DependencyContainer dependencyContainer;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+        SlowSingletonModel.INSTANCES.set(0);
+    }
+
+    @Test
+    void shouldDeferSingletonCreation() {
+        // when
+        var res = (LazySingletonController) dependencyContainer.getOrCreateInjectableTypes(LazySingletonController.class);
+
+        // then
+        Assertions.assertEquals(0, SlowSingletonModel.INSTANCES.get());
+        var model = res.slowSingletonModel.get();
+        Assertions.assertSame(model, res.slowSingletonModel.get());
+        Assertions.assertSame(model, dependencyContainer.getOrCreateInjectableTypes(SlowSingletonModel.class));
+        Assertions.assertEquals(1, SlowSingletonModel.INSTANCES.get());
+    }
+
+    @Test
+    void shouldShareLazySingletonWithEagerDependents() {
+        var lazy = (LazySingletonController) dependencyContainer.getOrCreateInjectableTypes(LazySingletonController.class);
+        var eager = (SlowSingletonController) dependencyContainer.getOrCreateInjectableTypes(SlowSingletonController.class);
+
+        Assertions.assertSame(eager.slowSingletonModel, lazy.slowSingletonModel.get());
+        Assertions.assertEquals(1, SlowSingletonModel.INSTANCES.get());
+    }
+
+    @Test
+    void shouldBreakCircularDependencies() {
+        var res = (LazyCircularDependentModel) dependencyContainer.getOrCreateInjectableTypes(LazyCircularDependentModel.class);
+
+        Assertions.assertSame(res.lazyCircularModel, res.lazyCircularModel.dependentModel.get().lazyCircularModel);
+    }
+
+    @Test
+    void shouldFailLazyNotSingleton() {
+        var error = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.getOrCreateInjectableTypes(LazyNotSingletonController.class));
+        Assertions.assertEquals("com.cerocss.fxdi.ExampleClasses$NotSingletonModel is not marked as Singleton. Constructors of injected classes that are not manually registered are only allowed to contain singletons.", error.getMessage());
+    }
+
+    @Test
+    void shouldFailRawLazy() {
+        var error = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.getOrCreateInjectableTypes(RawLazyController.class));
+        Assertions.assertEquals("com.cerocss.fxdi.ExampleClasses$RawLazyController has a Lazy constructor parameter without a concrete type argument.", error.getMessage());
+    }
+}
@@ -0,0 +1,145 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the measurements reported to an {@link InjectionListener} of the {@link DependencyContainer}.
+ */
+public class DependencyContainerListenerTest {
+
+    private final List<String> events = new ArrayList<>();
+
+    private DependencyContainer dependencyContainer;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+        dependencyContainer.setInjectionListener(new InjectionListener() {
+            @Override
+            public void onResolved(Class<?> type, long nanos) {
+                events.add("resolved " + type.getSimpleName());
+            }
+
+            @Override
+            public void onConstructed(Class<?> type, long nanos) {
+                events.add("constructed " + type.getSimpleName());
+            }
+
+            @Override
+            public void onCacheHit(Class<?> type) {
+                events.add("hit " + type.getSimpleName());
+            }
+        });
+    }
+
+    @Test
+    void shouldReportResolutionAndConstruction() {
+        dependencyContainer.getOrCreateInjectableTypes(NestedSingletonController.class);
+
+        Assertions.assertEquals(List.of("resolved NestedSingletonController", "constructed SingletonModel", "hit SingletonModel",
+                "constructed NestedSingletonModel", "hit NestedSingletonModel", "constructed NestedSingletonController"), events);
+    }
+
+    @Test
+    void shouldReportCacheHit() {
+        dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+        events.clear();
+
+        dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class);
+        dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+
+        Assertions.assertEquals(List.of("hit SingletonModel", "hit SingletonModel", "constructed SingletonController"), events);
+    }
+
+    @Test
+    void shouldReportCacheHitsOfBoundArguments() {
+        dependencyContainer.getOrCreateInjectableTypes(PrototypeController.class);
+        events.clear();
+
+        dependencyContainer.getOrCreateInjectableTypes(PrototypeController.class);
+
+        Assertions.assertEquals(List.of("hit SingletonModel", "constructed PrototypeModel", "hit SingletonModel",
+                "constructed PrototypeModel", "constructed PrototypeController"), events);
+    }
+
+    @Test
+    void shouldStopReportingWithoutListener() {
+        dependencyContainer.setInjectionListener(null);
+
+        dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+
+        Assertions.assertEquals(List.of(), events);
+    }
+
+    @Test
+    void shouldCombineListeners() {
+        // given
+        var first = recordingListener("first");
+        var second = recordingListener("second");
+        var combined = DependencyContainer.combine(first, second);
+
+        // when
+        combined.onResolved(SingletonModel.class, 0);
+        combined.onConstructed(SingletonModel.class, 0);
+        combined.onCacheHit(SingletonModel.class);
+        combined.onLoaded(null, 0);
+        combined.onViewLoaded(null);
+        combined.onViewElement(SingletonModel.class);
+
+        // then
+        Assertions.assertEquals(List.of("first resolved", "second resolved", "first constructed", "second constructed",
+                "first hit", "second hit", "first loaded", "second loaded", "first view", "second view",
+                "first element", "second element"), events);
+        Assertions.assertSame(first, DependencyContainer.combine(first, null));
+        Assertions.assertSame(second, DependencyContainer.combine(null, second));
+        Assertions.assertSame(first, DependencyContainer.combine(first, first));
+    }
+
+    /**
+     * Helper method to create a listener recording all events with its name.
+     *
+     * @param name the name of the listener
+     * @return the recording listener
+     */
+    private InjectionListener recordingListener(String name) {
+        return new InjectionListener() {
+            @Override
+            public void onResolved(Class<?> type, long nanos) {
+                events.add(name + " resolved");
+            }
+
+            @Override
+            public void onConstructed(Class<?> type, long nanos) {
+                events.add(name + " constructed");
+            }
+
+            @Override
+            public void onCacheHit(Class<?> type) {
+                events.add(name + " hit");
+            }
+
+            @Override
+            public void onLoaded(URL url, long nanos) {
+                events.add(name + " loaded");
+            }
+
+            @Override
+            public void onViewLoaded(LoadedView<?> view) {
+                events.add(name + " view");
+            }
+
+            @Override
+            public void onViewElement(Class<?> type) {
+                events.add(name + " element");
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the creation of singletons on a resolution executor of the {@link DependencyContainer}.
+ */
+public class DependencyContainerParallelResolutionTest {
+
+    private final AtomicInteger scheduledTasks = new AtomicInteger();
+
+    private DependencyContainer dependencyContainer;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+        dependencyContainer.setResolutionExecutor(command -> {
+            scheduledTasks.incrementAndGet();
+            ForkJoinPool.commonPool().execute(command);
+        });
+    }
+
+    @Test
+    void shouldCreateEachSingletonOnExecutor() {
+        var res = (MultipleSingletonController) dependencyContainer.getOrCreateInjectableTypes(MultipleSingletonController.class);
+
+        Assertions.assertEquals(2, scheduledTasks.get());
+        Assertions.assertSame(res.singletonModel, res.nestedSingletonModel.singletonModel);
+    }
+
+    @Test
+    void shouldNotScheduleRegisteredSingletons() {
+        dependencyContainer.getOrCreateInjectableTypes(NestedSingletonController.class);
+        dependencyContainer.getOrCreateInjectableTypes(MultipleSingletonController.class);
+
+        Assertions.assertEquals(2, scheduledTasks.get());
+    }
+
+    @Test
+    void shouldResolveSequentiallyWithinScheduledCreation() {
+        // given
+        var executor = Executors.newSingleThreadExecutor();
+        dependencyContainer.setResolutionExecutor(executor);
+        dependencyContainer.registerSingletonManually(dependencyContainer);
+
+        try {
+            // when
+            var res = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> (ResolvingController) dependencyContainer.getOrCreateInjectableTypes(ResolvingController.class));
+
+            // then
+            Assertions.assertSame(dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class), res.resolvingSingletonModel.multipleSingletonController.singletonModel);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldPropagateInstantiationFailure() {
+        var error = Assertions.assertThrows(IllegalStateException.class, () -> dependencyContainer.getOrCreateInjectableTypes(FailingSingletonController.class));
+        Assertions.assertEquals("test", error.getMessage());
+    }
+
+    @Test
+    void shouldValidateBeforeScheduling() {
+        var error = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.getOrCreateInjectableTypes(CircularController.class));
+        Assertions.assertEquals("com.cerocss.fxdi.ExampleClasses$CircularModel has circular dependencies. Visited classes: [com.cerocss.fxdi.ExampleClasses$CircularController, com.cerocss.fxdi.ExampleClasses$CircularModel] already contains: com.cerocss.fxdi.ExampleClasses$CircularModel.", error.getMessage());
+        Assertions.assertEquals(0, scheduledTasks.get());
+    }
+}
@@ -4,7 +4,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static com.cerocss.fxdi.ExampleClasses.NotSingletonModel;
+import static com.cerocss.fxdi.ExampleClasses.*;
 
 /**
  * Tests the manual registration of instances in the {@link DependencyContainer}.
@@ -43,4 +43,18 @@ public class DependencyContainerRegistrationTest {
         // then
         Assertions.assertEquals(test, result);
     }
+
+    @Test
+    void shouldInjectSingletonRegisteredAfterFirstCreation() {
+        // given
+        dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+        var test = new SingletonModel();
+
+        // when
+        dependencyContainer.registerSingletonManually(test);
+        var result = (SingletonController) dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+
+        // then
+        Assertions.assertEquals(test, result.singletonModel);
+    }
 }
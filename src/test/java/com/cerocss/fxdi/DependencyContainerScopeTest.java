@@ -0,0 +1,117 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the creation of singletons, prototypes and view scoped instances according to their scope.
+ */
+public class DependencyContainerScopeTest {
+
+    private DependencyContainer dependencyContainer;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+    }
+
+    @Test
+    void shouldRegisterRequestedSingleton() {
+        // when
+        var first = dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class);
+        var second = dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class);
+        var res = (SingletonController) dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+
+        // then
+        Assertions.assertSame(first, second);
+        Assertions.assertSame(first, res.singletonModel);
+    }
+
+    @Test
+    void shouldCreatePrototypeForEveryInjection() {
+        // when
+        var first = (PrototypeController) dependencyContainer.getOrCreateInjectableTypes(PrototypeController.class);
+        var second = (PrototypeController) dependencyContainer.getOrCreateInjectableTypes(PrototypeController.class);
+
+        // then
+        Assertions.assertNotSame(first.first, first.second);
+        Assertions.assertNotSame(first.first, second.first);
+        Assertions.assertSame(first.first.singletonModel, second.second.singletonModel);
+        Assertions.assertNotSame(dependencyContainer.getOrCreateInjectableTypes(PrototypeModel.class), dependencyContainer.getOrCreateInjectableTypes(PrototypeModel.class));
+    }
+
+    @Test
+    void shouldCreatePrototypeForEveryInjectionInParallel() {
+        // given
+        dependencyContainer.setResolutionExecutor(Runnable::run);
+
+        // when
+        var res = (PrototypeController) dependencyContainer.getOrCreateInjectableTypes(PrototypeController.class);
+
+        // then
+        Assertions.assertNotSame(res.first, res.second);
+        Assertions.assertSame(res.first.singletonModel, dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class));
+    }
+
+    @Test
+    void shouldShareViewScopedInstancesWithinView() {
+        // given
+        var firstView = dependencyContainer.createViewScope();
+        var secondView = dependencyContainer.createViewScope();
+
+        // when
+        var first = (ViewScopedController) firstView.getOrCreateInjectableTypes(ViewScopedController.class);
+        var second = (ViewScopedController) firstView.getOrCreateInjectableTypes(ViewScopedController.class);
+        var other = (ViewScopedController) secondView.getOrCreateInjectableTypes(ViewScopedController.class);
+
+        // then
+        Assertions.assertSame(first.viewScopedModel, second.viewScopedModel);
+        Assertions.assertNotSame(first.viewScopedModel, other.viewScopedModel);
+        Assertions.assertSame(first.viewScopedModel.singletonModel, other.viewScopedModel.singletonModel);
+        Assertions.assertSame(dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class), first.viewScopedModel.singletonModel);
+    }
+
+    @Test
+    void shouldNotCreateViewScopedInstancesOutsideOfView() {
+        // when
+        var exception = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.getOrCreateInjectableTypes(ViewScopedController.class));
+
+        // then
+        Assertions.assertEquals(ViewScopedModel.class.getName() + " is ViewScoped and can only be created while loading a view.", exception.getMessage());
+    }
+
+    @Test
+    void shouldNotAllowScopedDependingOnViewScoped() {
+        // when
+        var exception = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.createViewScope().getOrCreateInjectableTypes(ViewScopedDependentScopedModel.class));
+
+        // then
+        Assertions.assertEquals(ViewScopedDependentScopedModel.class.getName() + " is Scoped and cannot depend on " + ViewScopedModel.class.getName() + ", which is ViewScoped.", exception.getMessage());
+    }
+
+    @Test
+    void shouldNotAllowLazyPrototype() {
+        // when
+        var exception = Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.getOrCreateInjectableTypes(LazyPrototypeController.class));
+
+        // then
+        Assertions.assertEquals(LazyPrototypeController.class.getName() + " has a Lazy constructor parameter referencing " + PrototypeModel.class.getName() + ", which is Prototype. Lazy references are created once and would be shared by all instances.", exception.getMessage());
+    }
+
+    @Test
+    void shouldNotAllowDisposableViewScoped() {
+        // given
+        var view = dependencyContainer.createViewScope();
+
+        // when
+        var disposable = Assertions.assertThrows(RuntimeException.class, () -> view.getOrCreateInjectableTypes(DisposableViewScopedModel.class));
+        var closeable = Assertions.assertThrows(RuntimeException.class, () -> view.getOrCreateInjectableTypes(CloseableViewScopedModel.class));
+
+        // then
+        Assertions.assertEquals(DisposableViewScopedModel.class.getName() + " is ViewScoped and cannot be disposed. View containers are dropped together with their view and never closed.", disposable.getMessage());
+        Assertions.assertEquals(CloseableViewScopedModel.class.getName() + " is ViewScoped and cannot be disposed. View containers are dropped together with their view and never closed.", closeable.getMessage());
+    }
+}
@@ -0,0 +1,109 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests persisting and restoring the resolved dependency trees of a container.
+ */
+public class DependencyContainerSnapshotTest {
+
+    private DependencyContainer dependencyContainer;
+    private Path snapshot;
+
+    @BeforeEach
+    void setupTests() throws IOException {
+        dependencyContainer = new DependencyContainer();
+        snapshot = Files.createTempDirectory("fxdi-snapshot").resolve("resolution.snapshot");
+    }
+
+    @Test
+    void shouldRestoreSnapshot() {
+        // given
+        dependencyContainer.getOrCreateInjectableTypes(MultipleSingletonController.class);
+        dependencyContainer.saveResolutionSnapshot(snapshot);
+        var restoredContainer = new DependencyContainer();
+
+        // when
+        var loaded = restoredContainer.loadResolutionSnapshot(snapshot);
+        var res = (MultipleSingletonController) restoredContainer.getOrCreateInjectableTypes(MultipleSingletonController.class);
+
+        // then
+        Assertions.assertTrue(loaded);
+        Assertions.assertSame(res.singletonModel, res.nestedSingletonModel.singletonModel);
+        Assertions.assertSame(res.singletonModel, restoredContainer.getOrCreateInjectableTypes(SingletonModel.class));
+    }
+
+    @Test
+    void shouldResolveAgainInOtherContainerState() {
+        // given
+        dependencyContainer.registerSingletonManually(new NestedSingletonModel(new SingletonModel()));
+        dependencyContainer.getOrCreateInjectableTypes(NestedSingletonController.class);
+        dependencyContainer.saveResolutionSnapshot(snapshot);
+        var restoredContainer = new DependencyContainer();
+        restoredContainer.loadResolutionSnapshot(snapshot);
+
+        // when
+        var res = (NestedSingletonController) restoredContainer.getOrCreateInjectableTypes(NestedSingletonController.class);
+
+        // then
+        Assertions.assertSame(res.nestedSingletonModel, restoredContainer.getOrCreateInjectableTypes(NestedSingletonModel.class));
+        Assertions.assertSame(res.nestedSingletonModel.singletonModel, restoredContainer.getOrCreateInjectableTypes(SingletonModel.class));
+    }
+
+    @Test
+    void shouldIgnoreMissingSnapshot() {
+        // when / then
+        Assertions.assertFalse(dependencyContainer.loadResolutionSnapshot(snapshot));
+    }
+
+    @Test
+    void shouldIgnoreSnapshotOfOtherClasspath() throws IOException {
+        // given
+        try (var output = new DataOutputStream(Files.newOutputStream(snapshot))) {
+            output.writeInt(0x46584449);
+            output.writeInt(2);
+            output.writeUTF("other classpath");
+        }
+
+        // when / then
+        Assertions.assertFalse(new DependencyContainer().loadResolutionSnapshot(snapshot));
+    }
+
+    @Test
+    void shouldKeySnapshotsByRuntime() throws IOException {
+        // given
+        var key = ResolutionSnapshot.classpathKey();
+        var javaHome = System.getProperty("java.home");
+        System.setProperty("java.home", Files.createTempDirectory("fxdi-runtime").toString());
+
+        // when
+        String otherKey;
+        try {
+            otherKey = ResolutionSnapshot.classpathKey();
+        } finally {
+            System.setProperty("java.home", javaHome);
+        }
+
+        // then
+        Assertions.assertNotEquals(key, otherKey);
+        Assertions.assertEquals(key, ResolutionSnapshot.classpathKey());
+    }
+
+    @Test
+    void shouldReportMissingDigestAlgorithm() {
+        // when
+        var exception = Assertions.assertThrows(RuntimeException.class, () -> ResolutionSnapshot.messageDigest("missing"));
+
+        // then
+        Assertions.assertEquals("The digest algorithm missing is not available.", exception.getMessage());
+    }
+}
@@ -0,0 +1,56 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the eager creation of singletons through {@link DependencyContainer#warmUp}.
+ */
+public class DependencyContainerWarmUpTest {
+
+    private DependencyContainer dependencyContainer;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+    }
+
+    @Test
+    void shouldCreateSingletonsOfRoots() {
+        // given
+        var progress = new ArrayList<List<Integer>>();
+
+        // when
+        dependencyContainer.warmUp(List.of(SingletonController.class, NestedSingletonController.class), Runnable::run,
+                (created, total) -> progress.add(List.of(created, total))).join();
+
+        // then
+        Assertions.assertEquals(List.of(List.of(1, 2), List.of(2, 2)), progress);
+        var res = (MultipleSingletonController) dependencyContainer.getOrCreateInjectableTypes(MultipleSingletonController.class);
+        Assertions.assertSame(res.singletonModel, res.nestedSingletonModel.singletonModel);
+    }
+
+    @Test
+    void shouldRegisterSingletonRoots() {
+        dependencyContainer.warmUp(List.of(NestedSingletonModel.class), ForkJoinPool.commonPool()).join();
+
+        Assertions.assertSame(dependencyContainer.getOrCreateInjectableTypes(NestedSingletonModel.class),
+                dependencyContainer.getOrCreateInjectableTypes(NestedSingletonModel.class));
+    }
+
+    @Test
+    void shouldCompleteExceptionallyOnInvalidRoot() {
+        var future = dependencyContainer.warmUp(List.of(NotSingletonController.class), ForkJoinPool.commonPool());
+
+        var error = Assertions.assertThrows(CompletionException.class, future::join);
+        Assertions.assertEquals("com.cerocss.fxdi.ExampleClasses$NotSingletonModel is not marked as Singleton. Constructors of injected classes that are not manually registered are only allowed to contain singletons.", error.getCause().getMessage());
+    }
+}
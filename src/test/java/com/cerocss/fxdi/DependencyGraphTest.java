@@ -0,0 +1,86 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the export of the {@link DependencyGraph} of a {@link DependencyContainer}.
+ */
+public class DependencyGraphTest {
+
+    private DependencyContainer dependencyContainer;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+    }
+
+    @Test
+    void shouldDetermineCriticalPath() {
+        // given
+        var constructionNanos = Map.<Class<?>, Long>of(SingletonModel.class, 5L, NestedSingletonModel.class, 10L, DiamondModel.class, 1L, DiamondController.class, 2L);
+
+        // when
+        var graph = dependencyContainer.exportGraph(List.of(DiamondController.class), constructionNanos);
+
+        // then
+        Assertions.assertEquals(List.of(SingletonModel.class, NestedSingletonModel.class, DiamondModel.class, DiamondController.class), graph.getCriticalPath());
+        Assertions.assertEquals(18, graph.getCriticalPathNanos());
+        Assertions.assertEquals(4, graph.getNodes().size());
+        Assertions.assertEquals(5, graph.getEdges().size());
+        Assertions.assertEquals(3, graph.getEdges().stream().filter(DependencyGraph.Edge::isCritical).count());
+    }
+
+    @Test
+    void shouldExportManualRegistrationsAsLeaves() {
+        // given
+        dependencyContainer.registerSingletonManually(new NotSingletonModel());
+
+        // when
+        var graph = dependencyContainer.exportGraph(List.of(NotSingletonController.class), Map.of());
+
+        // then
+        var leaf = graph.getNodes().get(1);
+        Assertions.assertEquals(NotSingletonModel.class, leaf.getType());
+        Assertions.assertTrue(leaf.isRegistered());
+        Assertions.assertTrue(graph.toDot().contains("\"com.cerocss.fxdi.ExampleClasses$NotSingletonModel\" [label=\"NotSingletonModel\\n0.000 ms\", shape=box, color=red];"));
+    }
+
+    @Test
+    void shouldExcludeLazyParametersFromCriticalPath() {
+        // when
+        var graph = dependencyContainer.exportGraph(List.of(LazySingletonController.class), Map.of(SlowSingletonModel.class, 50L));
+
+        // then
+        var edge = graph.getEdges().getFirst();
+        Assertions.assertTrue(edge.isLazy());
+        Assertions.assertFalse(edge.isCritical());
+        Assertions.assertEquals(List.of(LazySingletonController.class), graph.getCriticalPath());
+        Assertions.assertTrue(graph.toJson().contains("\"criticalPath\": [\"com.cerocss.fxdi.ExampleClasses$LazySingletonController\"],\n  \"criticalPathNanos\": 0"));
+    }
+
+    @Test
+    void shouldRecordConstructionTimes() {
+        // given
+        var recorder = new ConstructionTimeRecorder();
+        dependencyContainer.setInjectionListener(recorder);
+
+        // when
+        dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+
+        // then
+        Assertions.assertEquals(2, recorder.getConstructionNanos().size());
+        Assertions.assertTrue(recorder.getConstructionNanos().containsKey(SingletonModel.class));
+    }
+
+    @Test
+    void shouldValidateRoots() {
+        Assertions.assertThrows(RuntimeException.class, () -> dependencyContainer.exportGraph(List.of(CircularController.class), Map.of()));
+    }
+}
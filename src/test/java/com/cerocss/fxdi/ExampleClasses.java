@@ -1,5 +1,12 @@
 package com.cerocss.fxdi;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * These classes are used for testing purposes by providing different injection scenarios. PMD warnings are ignored.
  */
@@ -184,6 +191,609 @@ public abstract class ExampleClasses {
             this.singletonModel = singletonModel;
         }
     }
-}
 
+    /**
+     * Example {@link Singleton} model with a slow constructor that counts its instantiations.
+     */
+    @Singleton
+    public static class SlowSingletonModel {
+        public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        public SlowSingletonModel() throws InterruptedException {
+            Thread.sleep(50);
+            INSTANCES.incrementAndGet();
+        }
+    }
+
+    /**
+     * Example controller containing a slowly created {@link Singleton} dependency.
+     */
+    public static class SlowSingletonController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final SlowSingletonModel slowSingletonModel;
+
+        public SlowSingletonController(SlowSingletonModel slowSingletonModel) {
+            this.slowSingletonModel = slowSingletonModel;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model whose constructor always fails.
+     */
+    @Singleton
+    public static class FailingSingletonModel {
+        public FailingSingletonModel() {
+            throw new IllegalStateException("test");
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model that requests another controller from the container while it is created.
+     */
+    @Singleton
+    public static class ResolvingSingletonModel {
+        final MultipleSingletonController multipleSingletonController;
+
+        public ResolvingSingletonModel(DependencyContainer dependencyContainer) {
+            this.multipleSingletonController = (MultipleSingletonController) dependencyContainer.getOrCreateInjectableTypes(MultipleSingletonController.class);
+        }
+    }
+
+    /**
+     * Example controller containing a {@link Singleton} dependency that resolves other classes while it is created.
+     */
+    public static class ResolvingController {
+        final ResolvingSingletonModel resolvingSingletonModel;
+
+        public ResolvingController(ResolvingSingletonModel resolvingSingletonModel) {
+            this.resolvingSingletonModel = resolvingSingletonModel;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model whose constructor throws a checked exception.
+     */
+    @Singleton
+    public static class CheckedFailingSingletonModel {
+        public CheckedFailingSingletonModel() throws java.io.IOException {
+            throw new java.io.IOException("test");
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model whose constructor throws an error.
+     */
+    @Singleton
+    public static class ErrorFailingSingletonModel {
+        public ErrorFailingSingletonModel() {
+            throw new AssertionError("test");
+        }
+    }
+
+    /**
+     * Example controller containing a {@link Singleton} dependency that cannot be created.
+     */
+    public static class FailingSingletonController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final FailingSingletonModel failingSingletonModel;
+
+        public FailingSingletonController(FailingSingletonModel failingSingletonModel) {
+            this.failingSingletonModel = failingSingletonModel;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model without public constructor, which can only be created by its
+     * {@link GeneratedSingletonModelFactory}.
+     */
+    @Singleton
+    public static class GeneratedSingletonModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final SingletonModel singletonModel;
+
+        private GeneratedSingletonModel(SingletonModel singletonModel) {
+            this.singletonModel = singletonModel;
+        }
+    }
+
+    /**
+     * Handwritten equivalent of a generated {@link InjectableFactory}, registered as service in the test resources.
+     */
+    public static class GeneratedSingletonModelFactory implements InjectableFactory<GeneratedSingletonModel> {
+        public GeneratedSingletonModelFactory() {
+        }
+
+        @Override
+        public Class<GeneratedSingletonModel> type() {
+            return GeneratedSingletonModel.class;
+        }
+
+        @Override
+        public Class<?>[] dependencies() {
+            return new Class<?>[]{SingletonModel.class};
+        }
+
+        @Override
+        public GeneratedSingletonModel create(Object... arguments) {
+            return new GeneratedSingletonModel((SingletonModel) arguments[0]);
+        }
+    }
+
+    /**
+     * Example controller containing a {@link Singleton} dependency that is created by a generated factory.
+     */
+    public static class GeneratedSingletonController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final GeneratedSingletonModel generatedSingletonModel;
+
+        public GeneratedSingletonController(GeneratedSingletonModel generatedSingletonModel) {
+            this.generatedSingletonModel = generatedSingletonModel;
+        }
+    }
+
+    /**
+     * Example controller containing a {@link Lazy} reference to a slowly created {@link Singleton}.
+     */
+    public static class LazySingletonController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final Lazy<SlowSingletonModel> slowSingletonModel;
+
+        public LazySingletonController(Lazy<SlowSingletonModel> slowSingletonModel) {
+            this.slowSingletonModel = slowSingletonModel;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model referencing a {@link Singleton} that depends on it through a {@link Lazy}.
+     */
+    @Singleton
+    public static class LazyCircularModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final Lazy<LazyCircularDependentModel> dependentModel;
+
+        public LazyCircularModel(Lazy<LazyCircularDependentModel> dependentModel) {
+            this.dependentModel = dependentModel;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model depending on a {@link Singleton} that references it lazily.
+     */
+    @Singleton
+    public static class LazyCircularDependentModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final LazyCircularModel lazyCircularModel;
+
+        public LazyCircularDependentModel(LazyCircularModel lazyCircularModel) {
+            this.lazyCircularModel = lazyCircularModel;
+        }
+    }
+
+    /**
+     * Example controller containing a {@link Lazy} reference to a class without {@link Singleton} annotation.
+     */
+    public static class LazyNotSingletonController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final Lazy<NotSingletonModel> notSingletonModel;
+
+        public LazyNotSingletonController(Lazy<NotSingletonModel> notSingletonModel) {
+            this.notSingletonModel = notSingletonModel;
+        }
+    }
+
+    /**
+     * Example controller containing a {@link Lazy} reference without type argument.
+     */
+    @SuppressWarnings("rawtypes")
+    public static class RawLazyController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final Lazy lazy;
+
+        public RawLazyController(Lazy lazy) {
+            this.lazy = lazy;
+        }
+    }
+
+    /**
+     * Example {@link Scoped} model depending on a {@link Singleton}.
+     */
+    @Scoped
+    public static class ScopedModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final SingletonModel singletonModel;
+
+        public ScopedModel(SingletonModel singletonModel) {
+            this.singletonModel = singletonModel;
+        }
+    }
+
+    /**
+     * Example controller containing a {@link Scoped} and a {@link Singleton} dependency.
+     */
+    public static class ScopedController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final ScopedModel scopedModel;
+
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final SingletonModel singletonModel;
+
+        public ScopedController(ScopedModel scopedModel, SingletonModel singletonModel) {
+            this.scopedModel = scopedModel;
+            this.singletonModel = singletonModel;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model illegally depending on a {@link Scoped} model.
+     */
+    @Singleton
+    public static class ScopedDependentSingletonModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final ScopedModel scopedModel;
+
+        public ScopedDependentSingletonModel(ScopedModel scopedModel) {
+            this.scopedModel = scopedModel;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model recording when it is closed.
+     */
+    @Singleton
+    public static class CloseableSingletonModel implements AutoCloseable {
+        public static final List<String> DISPOSALS = Collections.synchronizedList(new ArrayList<>());
+
+        public CloseableSingletonModel() {
+        }
+
+        @Override
+        public void close() {
+            DISPOSALS.add(CloseableSingletonModel.class.getSimpleName());
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model depending on a closeable model and recording when its destroy hook is called.
+     */
+    @Singleton
+    public static class DisposableSingletonModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final CloseableSingletonModel closeableSingletonModel;
+
+        public DisposableSingletonModel(CloseableSingletonModel closeableSingletonModel) {
+            this.closeableSingletonModel = closeableSingletonModel;
+        }
+
+        @Dispose
+        public void dispose() {
+            CloseableSingletonModel.DISPOSALS.add(DisposableSingletonModel.class.getSimpleName());
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model whose destroy hook fails.
+     */
+    @Singleton
+    public static class FailingDisposalSingletonModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final DisposableSingletonModel disposableSingletonModel;
+
+        public FailingDisposalSingletonModel(DisposableSingletonModel disposableSingletonModel) {
+            this.disposableSingletonModel = disposableSingletonModel;
+        }
+
+        @Dispose
+        public void dispose() {
+            throw new IllegalStateException("disposal failed");
+        }
+    }
+
+    /**
+     * Example controller containing a disposable {@link Singleton} dependency.
+     */
+    public static class DisposableController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final DisposableSingletonModel disposableSingletonModel;
 
+        public DisposableController(DisposableSingletonModel disposableSingletonModel) {
+            this.disposableSingletonModel = disposableSingletonModel;
+        }
+    }
+
+    /**
+     * Example controller containing a {@link Singleton} dependency whose destroy hook fails.
+     */
+    public static class FailingDisposalController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final FailingDisposalSingletonModel failingDisposalSingletonModel;
+
+        public FailingDisposalController(FailingDisposalSingletonModel failingDisposalSingletonModel) {
+            this.failingDisposalSingletonModel = failingDisposalSingletonModel;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model depending on the {@link Singleton} that shares the diamond base.
+     */
+    @Singleton
+    public static class DiamondModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final NestedSingletonModel nestedSingletonModel;
+
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final SingletonModel singletonModel;
+
+        public DiamondModel(NestedSingletonModel nestedSingletonModel, SingletonModel singletonModel) {
+            this.nestedSingletonModel = nestedSingletonModel;
+            this.singletonModel = singletonModel;
+        }
+    }
+
+    /**
+     * Example controller whose dependencies share their dependencies.
+     */
+    public static class DiamondController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final DiamondModel diamondModel;
+
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final NestedSingletonModel nestedSingletonModel;
+
+        public DiamondController(DiamondModel diamondModel, NestedSingletonModel nestedSingletonModel) {
+            this.diamondModel = diamondModel;
+            this.nestedSingletonModel = nestedSingletonModel;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model depending on a model that depends on it.
+     */
+    @Singleton
+    public static class IndirectCircularModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final IndirectCircularDependentModel dependentModel;
+
+        public IndirectCircularModel(IndirectCircularDependentModel dependentModel) {
+            this.dependentModel = dependentModel;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model closing the indirect circle.
+     */
+    @Singleton
+    public static class IndirectCircularDependentModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final IndirectCircularModel circularModel;
+
+        public IndirectCircularDependentModel(IndirectCircularModel circularModel) {
+            this.circularModel = circularModel;
+        }
+    }
+
+    /**
+     * Example controller containing an indirect circular dependency.
+     */
+    public static class IndirectCircularController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final SingletonModel singletonModel;
+
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final IndirectCircularModel circularModel;
+
+        public IndirectCircularController(SingletonModel singletonModel, IndirectCircularModel circularModel) {
+            this.singletonModel = singletonModel;
+            this.circularModel = circularModel;
+        }
+    }
+
+    /**
+     * Example {@link Prototype} model depending on a {@link Singleton}.
+     */
+    @Prototype
+    public static class PrototypeModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final SingletonModel singletonModel;
+
+        public PrototypeModel(SingletonModel singletonModel) {
+            this.singletonModel = singletonModel;
+        }
+    }
+
+    /**
+     * Example controller containing two {@link Prototype} dependencies.
+     */
+    public static class PrototypeController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final PrototypeModel first;
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final PrototypeModel second;
+
+        public PrototypeController(PrototypeModel first, PrototypeModel second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
+
+    /**
+     * Example {@link ViewScoped} model depending on a {@link Singleton}.
+     */
+    @ViewScoped
+    public static class ViewScopedModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final SingletonModel singletonModel;
+
+        public ViewScopedModel(SingletonModel singletonModel) {
+            this.singletonModel = singletonModel;
+        }
+    }
+
+    /**
+     * Example controller containing a {@link ViewScoped} dependency.
+     */
+    public static class ViewScopedController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final ViewScopedModel viewScopedModel;
+
+        public ViewScopedController(ViewScopedModel viewScopedModel) {
+            this.viewScopedModel = viewScopedModel;
+        }
+    }
+
+    /**
+     * Example {@link Scoped} model that must not depend on a {@link ViewScoped} model.
+     */
+    @Scoped
+    public static class ViewScopedDependentScopedModel {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final ViewScopedModel viewScopedModel;
+
+        public ViewScopedDependentScopedModel(ViewScopedModel viewScopedModel) {
+            this.viewScopedModel = viewScopedModel;
+        }
+    }
+
+    /**
+     * Example controller referencing a {@link Prototype} lazily, which would share a single instance.
+     */
+    public static class LazyPrototypeController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final Lazy<PrototypeModel> prototypeModel;
+
+        public LazyPrototypeController(Lazy<PrototypeModel> prototypeModel) {
+            this.prototypeModel = prototypeModel;
+        }
+    }
+
+    /**
+     * Example {@link ViewScoped} model declaring a {@link Dispose} method, which would never be called.
+     */
+    @ViewScoped
+    public static class DisposableViewScopedModel {
+        public DisposableViewScopedModel() {
+        }
+
+        @Dispose
+        public void dispose() {
+        }
+    }
+
+    /**
+     * Example {@link ViewScoped} model that is {@link AutoCloseable}, which would never be closed.
+     */
+    @ViewScoped
+    public static class CloseableViewScopedModel implements AutoCloseable {
+        public CloseableViewScopedModel() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model that is initialized asynchronously by completing its stage.
+     */
+    @Singleton
+    public static class AsyncInitializedModel {
+        final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        final AtomicInteger initializations = new AtomicInteger();
+
+        public AsyncInitializedModel() {
+        }
+
+        @Initialize
+        public CompletionStage<Void> load() {
+            initializations.incrementAndGet();
+            return loaded;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model whose initialization hook is run on the initialization executor.
+     */
+    @Singleton
+    public static class BlockingInitializedModel {
+        volatile boolean initialized;
+
+        public BlockingInitializedModel() {
+        }
+
+        @Initialize
+        public void initialize() {
+            initialized = true;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model whose initialization hook depends on an asynchronously initialized singleton.
+     */
+    @Singleton
+    public static class DependentInitializedModel {
+        final AsyncInitializedModel asyncInitializedModel;
+        volatile boolean dependencyLoaded;
+        volatile boolean initialized;
+
+        public DependentInitializedModel(AsyncInitializedModel asyncInitializedModel) {
+            this.asyncInitializedModel = asyncInitializedModel;
+        }
+
+        @Initialize
+        public void initialize() {
+            dependencyLoaded = asyncInitializedModel.loaded.isDone();
+            initialized = true;
+        }
+    }
+
+    /**
+     * Example {@link Singleton} model whose initialization hook fails.
+     */
+    @Singleton
+    public static class FailingInitializedModel {
+        public FailingInitializedModel() {
+        }
+
+        @Initialize
+        public void initialize() {
+            throw new IllegalStateException("test");
+        }
+    }
+
+    /**
+     * Example controller containing two independently initialized singletons.
+     */
+    public static class InitializedController {
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final AsyncInitializedModel asyncInitializedModel;
+        @SuppressWarnings(FIELD_CAN_BE_LOCAL)
+        final BlockingInitializedModel blockingInitializedModel;
+
+        public InitializedController(AsyncInitializedModel asyncInitializedModel, BlockingInitializedModel blockingInitializedModel) {
+            this.asyncInitializedModel = asyncInitializedModel;
+            this.blockingInitializedModel = blockingInitializedModel;
+        }
+    }
+
+    /**
+     * Handwritten equivalent of a compiled view of compiled-view.fxml, registered as service in the test resources.
+     */
+    public static class CompiledExampleView implements CompiledView {
+        public CompiledExampleView() {
+        }
+
+        @Override
+        public String resource() {
+            return "com/cerocss/fxdi/compiled-view.fxml";
+        }
+
+        @Override
+        public Object createController(java.util.function.Function<Class<?>, Object> controllerFactory) {
+            return controllerFactory.apply(SingletonController.class);
+        }
+
+        @Override
+        public Object createRoot(Object controller, java.net.URL location, java.util.ResourceBundle resources) {
+            return List.of(controller, location);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.cerocss.fxdi;
 
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import org.junit.jupiter.api.Assertions;
@@ -11,7 +12,11 @@ import org.testfx.framework.junit5.ApplicationExtension;
 import org.testfx.framework.junit5.Start;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
 
 @ExtendWith(ApplicationExtension.class)
 public class FXDIIntegrationTest {
@@ -43,4 +48,41 @@ public class FXDIIntegrationTest {
         Assertions.assertEquals(fxdiLoader.getDependencyContainer().getOrCreateInjectableTypes(ExampleClasses.SingletonModel.class), controller.nestedSingletonModel.singletonModel);
         Assertions.assertEquals(fxdiLoader.getDependencyContainer().getOrCreateInjectableTypes(ExampleClasses.NestedSingletonModel.class), controller.nestedSingletonModel);
     }
+
+    @Test
+    void shouldSwitchLanguageOfLoadedView() {
+        fxdiLoader.setTranslationTracking(true);
+        VBox vBox = fxdiLoader.load(getClass().getResource("integration-test.fxml"));
+        var label = (Label) vBox.getChildren().getFirst();
+        Assertions.assertEquals("value", label.getText());
+
+        fxdiLoader.switchLanguage(Locale.GERMAN);
+
+        Assertions.assertEquals("Wert", label.getText());
+    }
+
+    @Test
+    void shouldShareSingletonsWhenLoadingAllInParallel() {
+        var loader = new FXDILoader(Locale.ENGLISH);
+        var controllers = new ConcurrentLinkedQueue<IntegrationTestController>();
+        loader.getDependencyContainer().setInjectionListener(new InjectionListener() {
+            @Override
+            public void onViewLoaded(LoadedView<?> view) {
+                controllers.add(view.getController());
+            }
+        });
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            List<VBox> roots = loader.loadAll(Collections.nCopies(16, getClass().getResource("integration-test.fxml")), executor);
+
+            var singletonModel = loader.getDependencyContainer().getOrCreateInjectableTypes(ExampleClasses.SingletonModel.class);
+            Assertions.assertEquals(16, roots.stream().distinct().count());
+            Assertions.assertTrue(roots.stream().allMatch(root -> "value".equals(((Label) root.getChildren().getFirst()).getText())));
+            Assertions.assertEquals(16, controllers.stream().distinct().count());
+            Assertions.assertTrue(controllers.stream().allMatch(controller -> controller.singletonModel == singletonModel));
+            Assertions.assertTrue(controllers.stream().allMatch(controller -> controller.nestedSingletonModel.singletonModel == singletonModel));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -1,11 +1,16 @@
 package com.cerocss.fxdi;
 
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletionException;
 import java.util.ResourceBundle;
 
 import static org.mockito.Mockito.*;
@@ -27,6 +32,34 @@ public class FXDILoaderTest {
         }
     }
 
+    @Test
+    void shouldUsePreloadedResourceBundle() {
+        // given
+        FXDILoader.preloadLanguages(Locale.GERMAN);
+        var url = FXDILoaderTest.class.getResource("notActuallyUsed");
+
+        try (var ignored = mockStatic(ResourceBundle.class)) {
+            // when
+            var res = new FXDILoader(Locale.GERMAN).getFXMLLoaderInstance(url).getResources();
+
+            // then
+            Assertions.assertEquals("Wert", res.getString("label"));
+        }
+    }
+
+    @Test
+    void shouldInjectChildLoaderAndContainer() {
+        // when
+        var child = fxdiLoader.createChild();
+
+        // then
+        var container = child.getDependencyContainer();
+        Assertions.assertNotSame(fxdiLoader.getDependencyContainer(), container);
+        Assertions.assertSame(container, container.getOrCreateInjectableTypes(DependencyContainer.class));
+        Assertions.assertSame(child, container.getOrCreateInjectableTypes(FXDILoader.class));
+        Assertions.assertSame(fxdiLoader, fxdiLoader.getDependencyContainer().getOrCreateInjectableTypes(FXDILoader.class));
+    }
+
     @Test
     void shouldDelegateLoadingToFxmlLoader() throws IOException {
         try (var mock = mockConstruction(FXMLLoader.class, (fxmlLoader, context) -> when(fxmlLoader.load()).thenReturn(result))) {
@@ -82,6 +115,195 @@ public class FXDILoaderTest {
         }
     }
 
+    @Test
+    void shouldLoadAllFilesInOrder() throws IOException {
+        var first = new Object();
+        var second = new Object();
+        try (var mock = mockConstruction(FXMLLoader.class, (fxmlLoader, context) -> when(fxmlLoader.load()).thenReturn(context.getCount() == 1 ? first : second))) {
+            // given
+            var url = FXDILoaderTest.class.getResource("integration-test.fxml");
+
+            // when
+            var res = fxdiLoader.loadAll(List.of(url, url), Runnable::run);
+
+            // then
+            Assertions.assertEquals(List.of(first, second), res);
+            Assertions.assertEquals(2, mock.constructed().size());
+        }
+    }
+
+    @Test
+    void shouldFailLoadingAllIfOneFileFails() {
+        try (var ignored = mockConstruction(FXMLLoader.class, (fxmlLoader, context) -> when(fxmlLoader.load()).thenThrow(new IOException("test")))) {
+            // given
+            var url = FXDILoaderTest.class.getResource("integration-test.fxml");
+
+            // when
+            var error = Assertions.assertThrows(RuntimeException.class, () -> fxdiLoader.loadAll(List.of(url), Runnable::run));
+
+            // then
+            Assertions.assertInstanceOf(IOException.class, error.getCause());
+        }
+    }
+
+    @Test
+    void shouldReuseReleasedView() throws IOException {
+        var controller = mock(Resettable.class);
+        try (var mock = mockConstruction(FXMLLoader.class, (fxmlLoader, context) -> {
+            when(fxmlLoader.load()).thenReturn(result);
+            when(fxmlLoader.<Object>getController()).thenReturn(controller);
+        })) {
+            // given
+            var url = FXDILoaderTest.class.getResource("integration-test.fxml");
+            fxdiLoader.setPoolSize(url, 1);
+            var view = fxdiLoader.acquire(url);
+
+            // when
+            fxdiLoader.release(view);
+            var res = fxdiLoader.acquire(url);
+
+            // then
+            Assertions.assertSame(view, res);
+            Assertions.assertEquals(result, res.getRoot());
+            Assertions.assertEquals(1, mock.constructed().size());
+            verify(controller, times(1)).reset();
+        }
+    }
+
+    @Test
+    void shouldNotPoolReleasedViewTwice() throws IOException {
+        try (var mock = mockConstruction(FXMLLoader.class, (fxmlLoader, context) -> when(fxmlLoader.load()).thenReturn(result))) {
+            // given
+            var url = FXDILoaderTest.class.getResource("integration-test.fxml");
+            fxdiLoader.setPoolSize(url, 2);
+            var view = fxdiLoader.acquire(url);
+
+            // when
+            fxdiLoader.release(view);
+            fxdiLoader.release(view);
+
+            // then
+            Assertions.assertSame(view, fxdiLoader.acquire(url));
+            Assertions.assertNotSame(view, fxdiLoader.acquire(url));
+            Assertions.assertEquals(2, mock.constructed().size());
+        }
+    }
+
+    @Test
+    void shouldNotPoolViewOfPreviousLanguage() throws IOException {
+        try (var mock = mockConstruction(FXMLLoader.class, (fxmlLoader, context) -> when(fxmlLoader.load()).thenReturn(result))) {
+            // given
+            var url = FXDILoaderTest.class.getResource("integration-test.fxml");
+            fxdiLoader.setPoolSize(url, 1);
+            var view = fxdiLoader.acquire(url);
+            fxdiLoader.loadLanguage(Locale.GERMAN);
+
+            // when
+            fxdiLoader.release(view);
+            var res = fxdiLoader.acquire(url);
+
+            // then
+            Assertions.assertNotSame(view, res);
+            Assertions.assertEquals(2, mock.constructed().size());
+        }
+    }
+
+    @Test
+    void shouldPrefillPool() throws IOException {
+        try (var mock = mockConstruction(FXMLLoader.class, (fxmlLoader, context) -> when(fxmlLoader.load()).thenReturn(result))) {
+            // given
+            var url = FXDILoaderTest.class.getResource("integration-test.fxml");
+            fxdiLoader.setPoolSize(url, 2);
+
+            // when
+            fxdiLoader.prefillPool(url, Runnable::run).join();
+
+            // then
+            Assertions.assertEquals(2, mock.constructed().size());
+            Assertions.assertNotSame(fxdiLoader.acquire(url), fxdiLoader.acquire(url));
+            Assertions.assertEquals(2, mock.constructed().size());
+        }
+    }
+
+    @Test
+    void shouldUseCompiledView() {
+        try (var mock = mockConstruction(FXMLLoader.class)) {
+            // given
+            var url = FXDILoaderTest.class.getResource("compiled-view.fxml");
+
+            // when
+            var res = fxdiLoader.acquire(url);
+
+            // then
+            Assertions.assertInstanceOf(ExampleClasses.SingletonController.class, res.getController());
+            Assertions.assertEquals(List.of(res.getController(), url), res.getRoot());
+            Assertions.assertEquals(0, mock.constructed().size());
+        }
+    }
+
+    @Test
+    void shouldLoadAsynchronously() {
+        try (var mock = mockConstruction(FXMLLoader.class, (fxmlLoader, context) -> when(fxmlLoader.load()).thenReturn(result));
+             var platformMock = mockStatic(Platform.class)) {
+            // given
+            platformMock.when(() -> Platform.runLater(any())).thenAnswer(invocation -> {
+                invocation.getArgument(0, Runnable.class).run();
+                return null;
+            });
+            var url = FXDILoaderTest.class.getResource("notActuallyUsed");
+
+            // when
+            var res = fxdiLoader.loadAsync(url, Runnable::run).join();
+
+            // then
+            Assertions.assertEquals(result, res);
+            Assertions.assertEquals(1, mock.constructed().size());
+            platformMock.verify(() -> Platform.runLater(any()), times(1));
+        }
+    }
+
+    @Test
+    void shouldPropagateExceptionAsynchronously() {
+        try (var ignored = mockConstruction(FXMLLoader.class, (fxmlLoader, context) -> when(fxmlLoader.load()).thenThrow(new IOException("test")));
+             var platformMock = mockStatic(Platform.class)) {
+            // given
+            platformMock.when(() -> Platform.runLater(any())).thenAnswer(invocation -> {
+                invocation.getArgument(0, Runnable.class).run();
+                return null;
+            });
+            var url = FXDILoaderTest.class.getResource("notActuallyUsed");
+
+            // when
+            var future = fxdiLoader.loadAsync(url, Runnable::run);
+
+            // then
+            var error = Assertions.assertThrows(CompletionException.class, future::join);
+            Assertions.assertInstanceOf(IOException.class, error.getCause().getCause());
+            platformMock.verify(() -> Platform.runLater(any()), times(1));
+        }
+    }
+
+    @Test
+    void shouldReportLoadTime() {
+        try (var ignored = mockConstruction(FXMLLoader.class, (fxmlLoader, context) -> when(fxmlLoader.load()).thenReturn(result))) {
+            // given
+            var url = FXDILoaderTest.class.getResource("integration-test.fxml");
+            var loadedUrls = new ArrayList<>();
+            fxdiLoader.getDependencyContainer().setInjectionListener(new InjectionListener() {
+                @Override
+                public void onLoaded(URL loadedUrl, long nanos) {
+                    loadedUrls.add(loadedUrl);
+                }
+            });
+
+            // when
+            fxdiLoader.load(url);
+
+            // then
+            Assertions.assertEquals(List.of(url), loadedUrls);
+        }
+    }
+
     @Test
     void shouldReturnPrefilledDependencyContainer() {
         // when
@@ -91,4 +313,23 @@ public class FXDILoaderTest {
         Assertions.assertInstanceOf(DependencyContainer.class, res.getOrCreateInjectableTypes(DependencyContainer.class));
         Assertions.assertInstanceOf(FXDILoader.class, res.getOrCreateInjectableTypes(FXDILoader.class));
     }
+
+    @Test
+    void shouldReportWarmUpProgressOnFxThread() {
+        try (var platformMock = mockStatic(Platform.class)) {
+            // given
+            platformMock.when(() -> Platform.runLater(any())).thenAnswer(invocation -> {
+                invocation.getArgument(0, Runnable.class).run();
+                return null;
+            });
+            var progress = new ArrayList<Integer>();
+
+            // when
+            fxdiLoader.warmUp(List.of(ExampleClasses.NestedSingletonController.class), Runnable::run, (created, total) -> progress.add(created)).join();
+
+            // then
+            Assertions.assertEquals(List.of(1, 2), progress);
+            platformMock.verify(() -> Platform.runLater(any()), times(2));
+        }
+    }
 }
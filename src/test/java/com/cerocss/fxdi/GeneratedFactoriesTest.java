@@ -0,0 +1,35 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the usage of {@link InjectableFactory} services in place of reflective instantiation.
+ */
+public class GeneratedFactoriesTest {
+
+    @Test
+    void shouldFindRegisteredFactory() {
+        Assertions.assertInstanceOf(GeneratedSingletonModelFactory.class, GeneratedFactories.find(GeneratedSingletonModel.class));
+        Assertions.assertNull(GeneratedFactories.find(SingletonModel.class));
+    }
+
+    @Test
+    void shouldPlanWithGeneratedFactory() {
+        var plan = InjectionPlan.of(GeneratedSingletonModel.class);
+
+        Assertions.assertNull(plan.getConstructor());
+        Assertions.assertArrayEquals(new Class<?>[]{SingletonModel.class}, plan.getParameterTypes());
+    }
+
+    @Test
+    void shouldInjectSingletonCreatedByFactory() {
+        var dependencyContainer = new DependencyContainer();
+
+        var res = (GeneratedSingletonController) dependencyContainer.getOrCreateInjectableTypes(GeneratedSingletonController.class);
+
+        Assertions.assertSame(dependencyContainer.getOrCreateInjectableTypes(SingletonModel.class), res.generatedSingletonModel.singletonModel);
+    }
+}
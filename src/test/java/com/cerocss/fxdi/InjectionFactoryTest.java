@@ -24,5 +24,21 @@ public class InjectionFactoryTest {
 
         Assertions.assertEquals(result, res);
         verify(dependencyContainer, times(1)).getOrCreateInjectableTypes(InjectionFactoryTest.class);
+        verify(dependencyContainer, never()).createViewScope();
+    }
+
+    @Test
+    void shouldShareViewScopeBetweenControllersDependingOnIt() {
+        var viewScope = mock(DependencyContainer.class);
+        when(dependencyContainer.createViewScope()).thenReturn(viewScope);
+        when(viewScope.getOrCreateInjectableTypes(any())).thenReturn(result);
+
+        var first = injectionFactory.call(ExampleClasses.ViewScopedController.class);
+        var second = injectionFactory.call(ExampleClasses.ViewScopedController.class);
+
+        Assertions.assertEquals(result, first);
+        Assertions.assertEquals(result, second);
+        verify(dependencyContainer, times(1)).createViewScope();
+        verify(viewScope, times(2)).getOrCreateInjectableTypes(ExampleClasses.ViewScopedController.class);
     }
 }
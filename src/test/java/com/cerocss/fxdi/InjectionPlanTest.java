@@ -0,0 +1,80 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the resolution and caching of {@link InjectionPlan}s.
+ */
+public class InjectionPlanTest {
+
+    @Test
+    void shouldCachePlanPerClass() {
+        var first = InjectionPlan.of(MultipleSingletonController.class);
+        var second = InjectionPlan.of(MultipleSingletonController.class);
+
+        Assertions.assertSame(first, second);
+    }
+
+    @Test
+    void shouldSelectAnnotatedConstructor() {
+        var plan = InjectionPlan.of(MultipleConstructorSingleAnnotationController.class);
+
+        Assertions.assertArrayEquals(new Class<?>[]{SingletonModel.class}, plan.getParameterTypes());
+        Assertions.assertTrue(plan.getConstructor().isAnnotationPresent(InjectionConstructor.class));
+    }
+
+    @Test
+    void shouldBeSatisfiedByRegisteredParameters() {
+        var plan = InjectionPlan.of(SingletonController.class);
+
+        Assertions.assertFalse(plan.isSatisfiedBy(Map.of()::containsKey));
+        Assertions.assertTrue(plan.isSatisfiedBy(Map.of(SingletonModel.class, new SingletonModel())::containsKey));
+    }
+
+    @Test
+    void shouldNotCacheFailedResolution() {
+        var first = Assertions.assertThrows(RuntimeException.class, () -> InjectionPlan.of(NotPublicController.class));
+        var second = Assertions.assertThrows(RuntimeException.class, () -> InjectionPlan.of(NotPublicController.class));
+
+        Assertions.assertNotSame(first, second);
+    }
+
+    @Test
+    void shouldBindArgumentsToFactoryHandle() throws Throwable {
+        var singletonModel = new SingletonModel();
+        var factory = InjectionPlan.of(SingletonController.class).bind(new Object[]{singletonModel}, new MethodHandle[1]);
+
+        var first = (SingletonController) factory.invoke();
+        var second = (SingletonController) factory.invoke();
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertSame(singletonModel, first.singletonModel);
+        Assertions.assertSame(singletonModel, second.singletonModel);
+    }
+
+    @Test
+    void shouldLeaveAbstractClassesToReflection() {
+        Assertions.assertNull(InjectionPlan.of(AbstractController.class).bind(new Object[0], new MethodHandle[0]));
+    }
+
+    @Test
+    void shouldReportMissingHandle() {
+        // given
+        var lookup = MethodHandles.publicLookup();
+        var type = MethodType.methodType(Object.class);
+
+        // when
+        var exception = Assertions.assertThrows(RuntimeException.class, () -> InjectionPlan.findVirtual(lookup, InjectableFactory.class, "missing", type));
+
+        // then
+        Assertions.assertEquals(InjectableFactory.class.getName() + ".missing cannot be looked up.", exception.getMessage());
+    }
+}
@@ -0,0 +1,113 @@
+package com.cerocss.fxdi;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static com.cerocss.fxdi.ExampleClasses.*;
+
+/**
+ * Tests the recording of the classes used by a container and the generated startup metadata.
+ */
+public class StartupMetadataRecorderTest {
+
+    private DependencyContainer dependencyContainer;
+    private StartupMetadataRecorder recorder;
+
+    @BeforeEach
+    void setupTests() {
+        dependencyContainer = new DependencyContainer();
+        recorder = new StartupMetadataRecorder();
+        dependencyContainer.setInjectionListener(recorder);
+    }
+
+    @Test
+    void shouldRecordClassList() {
+        // when
+        dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+
+        // then
+        Assertions.assertEquals(List.of("com/cerocss/fxdi/ExampleClasses$SingletonController", "com/cerocss/fxdi/ExampleClasses$SingletonModel"), recorder.getClassList());
+    }
+
+    @Test
+    void shouldRecordInjectionConstructors() {
+        // when
+        dependencyContainer.getOrCreateInjectableTypes(DisposableController.class);
+
+        // then
+        var res = recorder.getReflectConfig();
+        Assertions.assertTrue(res.contains("""
+                {
+                    "name": "com.cerocss.fxdi.ExampleClasses$DisposableController",
+                    "queryAllPublicConstructors": true,
+                    "allDeclaredFields": true,
+                    "allDeclaredMethods": true,
+                    "methods": [
+                      {"name": "<init>", "parameterTypes": ["com.cerocss.fxdi.ExampleClasses$DisposableSingletonModel"]}
+                    ]
+                  }"""), res);
+        Assertions.assertTrue(res.contains("""
+                {
+                    "name": "com.cerocss.fxdi.ExampleClasses$DisposableSingletonModel",
+                    "queryAllPublicConstructors": true,
+                    "methods": [
+                      {"name": "<init>", "parameterTypes": ["com.cerocss.fxdi.ExampleClasses$CloseableSingletonModel"]},
+                      {"name": "dispose", "parameterTypes": []}
+                    ]
+                  }"""), res);
+    }
+
+    @Test
+    void shouldRecordNodesOfLoadedViews() {
+        // given
+        var root = new Group(new Rectangle());
+
+        // when
+        recorder.onViewLoaded(new LoadedView<>(null, root, new EmptyController(), null));
+
+        // then
+        Assertions.assertEquals(List.of("com/cerocss/fxdi/ExampleClasses$EmptyController", "javafx/scene/Group", "javafx/scene/shape/Rectangle"), recorder.getClassList());
+        Assertions.assertTrue(recorder.getReflectConfig().contains("""
+                {
+                    "name": "javafx.scene.shape.Rectangle",
+                    "allPublicConstructors": true,
+                    "allPublicMethods": true
+                  }"""));
+    }
+
+    @Test
+    void shouldRecordElementsOfLoadedViews() {
+        // when
+        recorder.onViewElement(Rectangle.class);
+
+        // then
+        Assertions.assertEquals(List.of("javafx/scene/shape/Rectangle"), recorder.getClassList());
+        Assertions.assertTrue(recorder.getReflectConfig().contains("""
+                {
+                    "name": "javafx.scene.shape.Rectangle",
+                    "allPublicConstructors": true,
+                    "allPublicMethods": true
+                  }"""));
+    }
+
+    @Test
+    void shouldWriteStartupMetadata() throws IOException {
+        // given
+        var directory = Files.createTempDirectory("fxdi-metadata");
+        dependencyContainer.getOrCreateInjectableTypes(SingletonController.class);
+
+        // when
+        recorder.write(directory);
+
+        // then
+        Assertions.assertEquals(recorder.getClassList(), Files.readAllLines(directory.resolve(StartupMetadataRecorder.CLASS_LIST)));
+        Assertions.assertEquals(recorder.getReflectConfig(), Files.readString(directory.resolve(StartupMetadataRecorder.REFLECT_CONFIG)));
+    }
+}
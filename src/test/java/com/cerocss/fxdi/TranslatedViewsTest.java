@@ -0,0 +1,127 @@
+package com.cerocss.fxdi;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.Group;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+/**
+ * Tests the tracking of translated texts and the application of new translations by {@link TranslatedViews}.
+ */
+public class TranslatedViewsTest {
+
+    private final TranslatedViews translatedViews = new TranslatedViews();
+
+    private final ResourceBundle german = ResourceBundle.getBundle("messages", Locale.GERMAN);
+
+    @Test
+    void shouldApplyTranslationToTrackedProperty() {
+        // given
+        var view = new TextView("value");
+        translatedViews.track(view, Map.of("label", "value"));
+
+        // when
+        translatedViews.apply(german);
+
+        // then
+        Assertions.assertEquals("Wert", view.getText());
+    }
+
+    @Test
+    void shouldIgnoreUntranslatedText() {
+        // given
+        var view = new TextView("literal");
+        translatedViews.track(view, Map.of("label", "value"));
+
+        // when
+        translatedViews.apply(german);
+
+        // then
+        Assertions.assertEquals("literal", view.getText());
+    }
+
+    @Test
+    void shouldIgnoreAmbiguousTranslations() {
+        // given
+        var view = new TextView("value");
+        translatedViews.track(view, Map.of("label", "value", "other", "value"));
+
+        // when
+        translatedViews.apply(german);
+
+        // then
+        Assertions.assertEquals("value", view.getText());
+    }
+
+    @Test
+    void shouldApplyTranslationToContentOutsideOfSceneGraph() {
+        // given
+        var content = new TextGroup("value");
+        var view = new ContentGroup(content);
+        translatedViews.track(view, Map.of("label", "value"));
+
+        // when
+        translatedViews.apply(german);
+
+        // then
+        Assertions.assertEquals("Wert", content.getText());
+    }
+
+    /**
+     * Example node with a text property.
+     */
+    public static class TextGroup extends Group {
+        private final StringProperty text;
+
+        public TextGroup(String text) {
+            this.text = new SimpleStringProperty(text);
+        }
+
+        public StringProperty textProperty() {
+            return text;
+        }
+
+        public String getText() {
+            return text.get();
+        }
+    }
+
+    /**
+     * Example control whose content is not part of its children, like an unskinned scroll pane.
+     */
+    public static class ContentGroup extends Group {
+        private final Group content;
+
+        public ContentGroup(Group content) {
+            this.content = content;
+        }
+
+        public Group getContent() {
+            return content;
+        }
+    }
+
+    /**
+     * Example view with a text property.
+     */
+    public static class TextView {
+        private final StringProperty text;
+
+        public TextView(String text) {
+            this.text = new SimpleStringProperty(text);
+        }
+
+        public StringProperty textProperty() {
+            return text;
+        }
+
+        public String getText() {
+            return text.get();
+        }
+    }
+}
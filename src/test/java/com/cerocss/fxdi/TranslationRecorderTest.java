@@ -0,0 +1,22 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ * Tests the recording of looked up translations by the {@link TranslationRecorder}.
+ */
+public class TranslationRecorderTest {
+
+    private final TranslationRecorder translationRecorder = new TranslationRecorder(new MockTranslationBundle());
+
+    @Test
+    void shouldDelegateAndRecordTranslations() {
+        var translation = translationRecorder.getString("label");
+
+        Assertions.assertEquals("translation(label)", translation);
+        Assertions.assertEquals(Map.of("label", "translation(label)"), translationRecorder.getRecordedTranslations());
+    }
+}
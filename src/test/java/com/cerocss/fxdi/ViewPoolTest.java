@@ -0,0 +1,96 @@
+package com.cerocss.fxdi;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+
+/**
+ * Tests the pooling of released views in the {@link ViewPool}.
+ */
+public class ViewPoolTest {
+
+    private final ViewPool pool = new ViewPool();
+    private final URL url = ViewPoolTest.class.getResource("integration-test.fxml");
+
+    @Test
+    void shouldReuseReleasedView() {
+        // given
+        pool.setMaximumSize(url, 2);
+        var view = new LoadedView<>(url, new Object(), null, null);
+
+        // when
+        var pooled = pool.offer(view);
+
+        // then
+        Assertions.assertTrue(pooled);
+        Assertions.assertSame(view, pool.poll(url));
+        Assertions.assertNull(pool.poll(url));
+    }
+
+    @Test
+    void shouldNotPoolFilesWithoutSize() {
+        Assertions.assertFalse(pool.offer(new LoadedView<>(url, new Object(), null, null)));
+        Assertions.assertNull(pool.poll(url));
+    }
+
+    @Test
+    void shouldLimitPoolSize() {
+        // given
+        pool.setMaximumSize(url, 1);
+
+        // when
+        var first = pool.offer(new LoadedView<>(url, new Object(), null, null));
+        var second = pool.offer(new LoadedView<>(url, new Object(), null, null));
+
+        // then
+        Assertions.assertTrue(first);
+        Assertions.assertFalse(second);
+        Assertions.assertEquals(0, pool.missing(url));
+    }
+
+    @Test
+    void shouldDropViewsExceedingReducedSize() {
+        // given
+        pool.setMaximumSize(url, 2);
+        pool.offer(new LoadedView<>(url, new Object(), null, null));
+        pool.offer(new LoadedView<>(url, new Object(), null, null));
+
+        // when
+        pool.setMaximumSize(url, 1);
+
+        // then
+        Assertions.assertNotNull(pool.poll(url));
+        Assertions.assertNull(pool.poll(url));
+    }
+
+    @Test
+    void shouldDropViewsOnClear() {
+        // given
+        pool.setMaximumSize(url, 1);
+        pool.offer(new LoadedView<>(url, new Object(), null, null));
+
+        // when
+        pool.clear();
+
+        // then
+        Assertions.assertNull(pool.poll(url));
+        Assertions.assertEquals(1, pool.missing(url));
+    }
+
+    @Test
+    void shouldNotPoolSameViewTwice() {
+        // given
+        pool.setMaximumSize(url, 2);
+        var view = new LoadedView<>(url, new Object(), null, null);
+        pool.offer(view);
+
+        // when
+        var pooled = pool.offer(view);
+
+        // then
+        Assertions.assertFalse(pooled);
+        Assertions.assertTrue(pool.contains(view));
+        Assertions.assertEquals(1, pool.missing(url));
+    }
+}